@@ -16,10 +16,10 @@ package com.trivago.rta;/*
 
 import com.trivago.rta.constants.PluginSettings;
 import com.trivago.rta.exceptions.CluecumberPluginException;
-import com.trivago.rta.filesystem.FileIO;
+import com.trivago.rta.filesystem.AttachmentWriter;
 import com.trivago.rta.filesystem.FileSystemManager;
-import com.trivago.rta.json.JsonPojoConverter;
-import com.trivago.rta.json.pojo.Report;
+import com.trivago.rta.incremental.ReportManifest;
+import com.trivago.rta.json.JsonFileParser;
 import com.trivago.rta.logging.CluecumberLogger;
 import com.trivago.rta.properties.PropertyManager;
 import com.trivago.rta.rendering.ReportGenerator;
@@ -42,9 +42,10 @@ public final class CluecumberReportPlugin extends AbstractMojo {
     private final CluecumberLogger logger;
     private final PropertyManager propertyManager;
     private final FileSystemManager fileSystemManager;
-    private final FileIO fileIO;
-    private final JsonPojoConverter jsonPojoConverter;
+    private final JsonFileParser jsonFileParser;
     private final ReportGenerator reportGenerator;
+    private final ReportManifest reportManifest;
+    private final AttachmentWriter attachmentWriter;
 
     /**
      * The path to the Cucumber JSON files.
@@ -64,21 +65,89 @@ public final class CluecumberReportPlugin extends AbstractMojo {
     @Parameter(property = "reporting.customParameters", required = true)
     private Map<String, String> customParameters;
 
+    /**
+     * The number of threads that parse the Cucumber JSON files (defaults to the number of available processors).
+     */
+    @Parameter(property = "reporting.parsingThreads")
+    private int parsingThreads = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * The number of threads that render the report pages (defaults to the number of available processors).
+     */
+    @Parameter(property = "reporting.renderingThreads")
+    private int renderingThreads = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * The number of threads that write image attachments while the Cucumber JSON files are parsed (defaults to 2).
+     * If set to 0, attachments are written by the parsing threads.
+     */
+    @Parameter(property = "reporting.attachmentWriterThreads")
+    private int attachmentWriterThreads = 2;
+
+    /**
+     * The maximum memory in megabytes for decoded attachments that wait to be written (defaults to 64).
+     * Parsing waits as long as this limit is reached.
+     */
+    @Parameter(property = "reporting.attachmentWriterMemory")
+    private int attachmentWriterMemory = 64;
+
+    /**
+     * Embeddings other than images whose data exceeds this size in kilobytes are written to files
+     * that are loaded on demand instead of being included in the scenario detail pages (defaults to 10).
+     */
+    @Parameter(property = "reporting.embeddingSizeThreshold")
+    private int embeddingSizeThreshold = 10;
+
+    /**
+     * Scenarios whose step output and inline embeddings exceed this size in kilobytes get their step content
+     * in separate files that are only loaded when opened in the scenario detail page (defaults to 512).
+     */
+    @Parameter(property = "reporting.lazyContentThreshold")
+    private int lazyContentThreshold = 512;
+
+    /**
+     * Indent the generated HTML pages (defaults to false).
+     */
+    @Parameter(property = "reporting.prettifyHtml")
+    private boolean prettifyHtml = false;
+
+    /**
+     * Write the scenario rows of the scenario list pages to Javascript data files and only render the visible rows
+     * in the browser (defaults to false).
+     */
+    @Parameter(property = "reporting.deferredRendering")
+    private boolean deferredRendering = false;
+
+    /**
+     * Only parse changed Cucumber JSON files and only render pages whose data changed since the last run (defaults to false).
+     */
+    @Parameter(property = "reporting.incrementalGeneration")
+    private boolean incrementalGeneration = false;
+
+    /**
+     * A directory for the CSS and Javascript assets that is shared by multiple reports.
+     * If set, the assets are copied there once and the report pages link to it by a relative path.
+     */
+    @Parameter(property = "reporting.sharedAssetDirectory")
+    private String sharedAssetDirectory = "";
+
     @Inject
     public CluecumberReportPlugin(
             final CluecumberLogger logger,
             final PropertyManager propertyManager,
             final FileSystemManager fileSystemManager,
-            final FileIO fileIO,
-            final JsonPojoConverter jsonPojoConverter,
-            final ReportGenerator reportGenerator
+            final JsonFileParser jsonFileParser,
+            final ReportGenerator reportGenerator,
+            final ReportManifest reportManifest,
+            final AttachmentWriter attachmentWriter
     ) {
         this.propertyManager = propertyManager;
         this.fileSystemManager = fileSystemManager;
-        this.fileIO = fileIO;
-        this.jsonPojoConverter = jsonPojoConverter;
+        this.jsonFileParser = jsonFileParser;
         this.logger = logger;
         this.reportGenerator = reportGenerator;
+        this.reportManifest = reportManifest;
+        this.attachmentWriter = attachmentWriter;
     }
 
     /**
@@ -94,6 +163,16 @@ public final class CluecumberReportPlugin extends AbstractMojo {
         propertyManager.setSourceJsonReportDirectory(sourceJsonReportDirectory);
         propertyManager.setGeneratedHtmlReportDirectory(generatedHtmlReportDirectory);
         propertyManager.setCustomParameters(customParameters);
+        propertyManager.setParsingThreads(parsingThreads);
+        propertyManager.setRenderingThreads(renderingThreads);
+        propertyManager.setAttachmentWriterThreads(attachmentWriterThreads);
+        propertyManager.setAttachmentWriterMemory(attachmentWriterMemory);
+        propertyManager.setEmbeddingSizeThreshold(embeddingSizeThreshold);
+        propertyManager.setLazyContentThreshold(lazyContentThreshold);
+        propertyManager.setPrettifyHtml(prettifyHtml);
+        propertyManager.setDeferredRendering(deferredRendering);
+        propertyManager.setIncrementalGeneration(incrementalGeneration);
+        propertyManager.setSharedAssetDirectory(sharedAssetDirectory);
         propertyManager.validateSettings();
 
         logger.info("-----------------------------------------------");
@@ -104,19 +183,19 @@ public final class CluecumberReportPlugin extends AbstractMojo {
         // Create attachment directory here since they are handled during json generation.
         fileSystemManager.createDirectory(propertyManager.getGeneratedHtmlReportDirectory() + "/attachments");
 
+        reportManifest.load();
+
         ScenarioSummaryPageCollection scenarioSummaryPageCollection = new ScenarioSummaryPageCollection();
         List<Path> jsonFilePaths = fileSystemManager.getJsonFilePaths();
-        for (Path jsonFilePath : jsonFilePaths) {
-            String jsonString = fileIO.readContentFromFile(jsonFilePath.toString());
-            try {
-                Report[] reports = jsonPojoConverter.convertJsonToReportPojos(jsonString);
-                scenarioSummaryPageCollection.addReports(reports);
-            } catch (CluecumberPluginException e) {
-                logger.error("Could not parse JSON in file '" + jsonFilePath.toString() + "': " + e.getMessage());
-            }
+        try {
+            scenarioSummaryPageCollection.addReports(jsonFileParser.parseJsonFiles(jsonFilePaths));
+        } finally {
+            // All attachments have to be on disk before the pages that link to them are generated.
+            attachmentWriter.flush();
         }
 
         reportGenerator.generateReport(scenarioSummaryPageCollection);
+        reportManifest.save();
         logger.info(
                 "Cluecumber Report: " + propertyManager.getGeneratedHtmlReportDirectory() + "/" +
                         PluginSettings.SCENARIO_SUMMARY_PAGE_PATH + PluginSettings.HTML_FILE_EXTENSION);
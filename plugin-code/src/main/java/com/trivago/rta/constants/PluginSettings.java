@@ -27,14 +27,17 @@ public class PluginSettings {
     public final static String NAME = "Cluecumber Report Plugin";
     public static final String TEMPLATE_FILE_EXTENSION = ".ftl";
     public static final String HTML_FILE_EXTENSION = ".html";
+    public static final String JS_FILE_EXTENSION = ".js";
 
     public static final String BASE_TEMPLATE_PATH = "/template";
     public static final String PAGES_DIRECTORY = "pages";
+    public static final String INCREMENTAL_DIRECTORY = ".cluecumber";
 
     public final static String SCENARIO_DETAIL_PAGE_NAME = "Scenario Details";
     public final static String SCENARIO_DETAIL_TEMPLATE = "scenario-detail";
     public final static String SCENARIO_DETAIL_PAGE_PATH = "scenario-detail";
     public static final String SCENARIO_DETAIL_PAGE_FRAGMENT = "/" + SCENARIO_DETAIL_PAGE_PATH + "/scenario_";
+    public final static String SCENARIO_DETAIL_FRAGMENT_TEMPLATE = "scenario-detail-fragment";
 
     public final static String SCENARIO_SUMMARY_PAGE_NAME = "Scenario Summary";
     public final static String SCENARIO_SUMMARY_TEMPLATE = "scenario-summary";
@@ -0,0 +1,206 @@
+/*
+ * Copyright 2018 trivago N.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.trivago.rta.filesystem;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+import com.trivago.rta.constants.PluginSettings;
+import com.trivago.rta.exceptions.CluecumberPluginException;
+import com.trivago.rta.exceptions.filesystem.FileCreationException;
+import com.trivago.rta.exceptions.filesystem.MissingFileException;
+import com.trivago.rta.logging.CluecumberLogger;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Exports static report assets from the plugin jar to a target directory.
+ * <p>
+ * A manifest in the target directory stores the source, size, modification time and content hash of every exported asset.
+ * Assets whose source has not changed and whose exported file still has the same content are not copied again.
+ * Files are replaced atomically, so multiple reports can share one target directory.
+ */
+@Singleton
+public class AssetExporter {
+
+    static final String ASSET_MANIFEST_FILE = "assets.json";
+    private static final String TEMPORARY_FILE_SUFFIX = ".tmp";
+    private static final Type MANIFEST_TYPE = new TypeToken<Map<String, Asset>>() {
+    }.getType();
+
+    private final FileIO fileIO;
+    private final CluecumberLogger logger;
+    private final Gson gson;
+
+    @Inject
+    public AssetExporter(final FileIO fileIO, final CluecumberLogger logger) {
+        this.fileIO = fileIO;
+        this.logger = logger;
+        this.gson = new GsonBuilder().setPrettyPrinting().create();
+    }
+
+    /**
+     * Export assets from the jar to the same relative paths inside of the target directory.
+     *
+     * @param baseClass            The jar base class.
+     * @param baseResourcePath     The resource path that contains all assets.
+     * @param fileNames            The asset paths relative to the base resource path (e.g. "/css/cluecumber.css").
+     * @param destinationDirectory The target directory.
+     * @throws CluecumberPluginException Thrown if an asset does not exist or cannot be copied.
+     */
+    public void exportAssets(
+            final Class<?> baseClass,
+            final String baseResourcePath,
+            final List<String> fileNames,
+            final String destinationDirectory) throws CluecumberPluginException {
+        Path manifestPath = Paths.get(destinationDirectory, PluginSettings.INCREMENTAL_DIRECTORY, ASSET_MANIFEST_FILE);
+        Map<String, Asset> previousAssets = readManifest(manifestPath);
+        Map<String, Asset> assets = new TreeMap<>();
+
+        for (String fileName : fileNames) {
+            String resourceName = baseResourcePath + fileName;
+            URL resource = baseClass.getResource(resourceName);
+            if (resource == null) {
+                throw new CluecumberPluginException("Cannot get resource \"" + resourceName + "\".");
+            }
+
+            Path target = Paths.get(destinationDirectory, fileName);
+            URLConnection connection;
+            try {
+                connection = resource.openConnection();
+            } catch (IOException e) {
+                throw new CluecumberPluginException("Cannot get resource \"" + resourceName + "\": " + e.getMessage());
+            }
+            // The stream is opened in any case because some connections hold an open file as soon as they are connected.
+            try (InputStream inputStream = connection.getInputStream()) {
+                String source = connection.getContentLengthLong() + ":" + connection.getLastModified();
+                Asset asset = previousAssets.get(fileName);
+                if (asset == null || !isUpToDate(asset, source, target)) {
+                    asset = new Asset();
+                    asset.source = source;
+                    asset.hash = copyToFile(inputStream, target);
+                }
+                asset.size = Files.size(target);
+                asset.lastModified = Files.getLastModifiedTime(target).toMillis();
+                assets.put(fileName, asset);
+            } catch (IOException e) {
+                throw new CluecumberPluginException("Cannot export resource \"" + resourceName + "\": " + e.getMessage());
+            }
+        }
+
+        writeManifest(manifestPath, assets);
+    }
+
+    /**
+     * Check if an exported asset still matches its source and its recorded content.
+     * The content hash is only calculated if the modification time of the exported file has changed.
+     *
+     * @param asset  The recorded {@link Asset}.
+     * @param source The current source fingerprint.
+     * @param target The exported file.
+     * @return true if the asset does not need to be copied.
+     * @throws IOException          Thrown if the file attributes cannot be read.
+     * @throws MissingFileException Thrown if the exported file cannot be read.
+     */
+    private boolean isUpToDate(final Asset asset, final String source, final Path target)
+            throws IOException, MissingFileException {
+        if (!source.equals(asset.source) || !Files.isRegularFile(target) || Files.size(target) != asset.size) {
+            return false;
+        }
+        return Files.getLastModifiedTime(target).toMillis() == asset.lastModified ||
+                fileIO.getContentHash(target).equals(asset.hash);
+    }
+
+    /**
+     * Copy a stream to a temporary file next to the target and move it into place afterwards,
+     * so reports that share the target directory never see a partially written asset.
+     *
+     * @param inputStream The source stream.
+     * @param target      The target file.
+     * @return The content hash.
+     * @throws IOException           Thrown if the temporary file cannot be created or removed.
+     * @throws FileCreationException Thrown if the target cannot be written.
+     */
+    private String copyToFile(final InputStream inputStream, final Path target) throws IOException, FileCreationException {
+        Files.createDirectories(target.getParent());
+        Path temporaryFile = Files.createTempFile(target.getParent(), target.getFileName().toString(), TEMPORARY_FILE_SUFFIX);
+        try {
+            String hash = fileIO.copyContentToFile(inputStream, temporaryFile);
+            fileIO.moveFile(temporaryFile, target);
+            return hash;
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    private Map<String, Asset> readManifest(final Path manifestPath) {
+        if (Files.isRegularFile(manifestPath)) {
+            try (Reader reader = Files.newBufferedReader(manifestPath, StandardCharsets.UTF_8)) {
+                Map<String, Asset> assets = gson.fromJson(reader, MANIFEST_TYPE);
+                if (assets != null) {
+                    return assets;
+                }
+            } catch (IOException | JsonParseException e) {
+                logger.info("Asset manifest cannot be read, all assets will be copied.");
+            }
+        }
+        return new TreeMap<>();
+    }
+
+    private void writeManifest(final Path manifestPath, final Map<String, Asset> assets) throws FileCreationException {
+        try {
+            Files.createDirectories(manifestPath.getParent());
+            Path temporaryFile = Files.createTempFile(manifestPath.getParent(), ASSET_MANIFEST_FILE, TEMPORARY_FILE_SUFFIX);
+            try {
+                try (Writer writer = fileIO.createFileWriter(temporaryFile.toString())) {
+                    gson.toJson(assets, MANIFEST_TYPE, writer);
+                }
+                fileIO.moveFile(temporaryFile, manifestPath);
+            } finally {
+                Files.deleteIfExists(temporaryFile);
+            }
+        } catch (IOException e) {
+            throw new FileCreationException(manifestPath.toString());
+        }
+    }
+
+    /**
+     * An exported asset.
+     */
+    private static class Asset {
+        private String source = "";
+        private String hash = "";
+        private long size;
+        private long lastModified;
+    }
+}
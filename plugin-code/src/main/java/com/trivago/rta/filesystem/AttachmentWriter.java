@@ -0,0 +1,288 @@
+/*
+ * Copyright 2018 trivago N.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.trivago.rta.filesystem;
+
+import com.trivago.rta.exceptions.CluecumberPluginException;
+import com.trivago.rta.json.pojo.Embedding;
+import com.trivago.rta.logging.CluecumberLogger;
+import com.trivago.rta.properties.PropertyManager;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes attachments to the attachment directory of the generated report.
+ * Attachments are named by their content hash and moved into place once complete,
+ * so parsing threads can store the same attachment at the same time.
+ */
+@Singleton
+public class AttachmentWriter {
+
+    public static final String ATTACHMENT_DIRECTORY = "attachments";
+    private static final String TEMPORARY_FILE_SUFFIX = ".tmp";
+    private static final long BYTES_PER_KILOBYTE = 1024;
+    private static final long BYTES_PER_MEGABYTE = BYTES_PER_KILOBYTE * 1024;
+
+    private final PropertyManager propertyManager;
+    private final FileIO fileIO;
+    private final CluecumberLogger logger;
+
+    private final Set<String> pendingFilenames = ConcurrentHashMap.newKeySet();
+    private final Set<String> failedFilenames = ConcurrentHashMap.newKeySet();
+    private ExecutorService writerThreads;
+    private Semaphore memoryBudget;
+    private int memoryBudgetBytes;
+
+    @Inject
+    public AttachmentWriter(
+            final PropertyManager propertyManager,
+            final FileIO fileIO,
+            final CluecumberLogger logger
+    ) {
+        this.propertyManager = propertyManager;
+        this.fileIO = fileIO;
+        this.logger = logger;
+    }
+
+    /**
+     * Returns the file ending for an attachment mime type.
+     *
+     * @param mimeType The mime type of the attachment.
+     * @return The file ending including the leading dot.
+     */
+    public String getFileEnding(final String mimeType) {
+        String baseMimeType = mimeType.split(";")[0].trim().toLowerCase(Locale.ROOT);
+        switch (baseMimeType) {
+            case "image/png":
+                return ".png";
+            case "image/jpeg":
+                return ".jpg";
+            case "image/gif":
+                return ".gif";
+            case "image/svg+xml":
+                return ".svg";
+            case "text/html":
+                return ".html";
+            case "text/plain":
+                return ".txt";
+            case "text/xml":
+            case "application/xml":
+                return ".xml";
+            case "application/json":
+                return ".json";
+            case "application/pdf":
+                return ".pdf";
+            case "video/mp4":
+                return ".mp4";
+            case "video/webm":
+                return ".webm";
+            default:
+                return ".unknown";
+        }
+    }
+
+    /**
+     * Check if an embedding is stored as a file instead of being kept in the report.
+     * Images are always stored as files, other embeddings only if their data exceeds the embedding size threshold.
+     *
+     * @param embedding The {@link Embedding} with its mime type.
+     * @param data      The Base64 encoded embedding data.
+     * @return true if the embedding should be written to the attachment directory.
+     */
+    public boolean isWrittenToFile(final Embedding embedding, final CharSequence data) {
+        return embedding.isImage() ||
+                data.length() > (long) propertyManager.getEmbeddingSizeThreshold() * BYTES_PER_KILOBYTE;
+    }
+
+    /**
+     * Stores Base64 attachment data in the attachment directory under the hash of its decoded content.
+     * Failures are logged so that the report generation can continue.
+     * <p>
+     * If attachment writer threads are configured, the content is decoded once into memory and written by the
+     * writer threads while the caller continues. The caller blocks as long as the decoded attachments that are
+     * waiting to be written exceed the configured memory. In this case the filename is returned before the
+     * attachment is written, so write failures are only reported by {@link #flush()}.
+     * Otherwise the content is hashed first, so attachments that already exist are never decoded to disk again.
+     *
+     * @param base64Data The Base64 encoded attachment data.
+     * @param mimeType   The mime type of the attachment.
+     * @return The filename of the attachment or null if it could not be stored.
+     */
+    public String writeBase64Attachment(final CharSequence base64Data, final String mimeType) {
+        try {
+            if (propertyManager.getAttachmentWriterThreads() > 0) {
+                return writeBase64AttachmentAsynchronously(base64Data, mimeType);
+            }
+            String filename = fileIO.getBase64ContentHash(base64Data) + getFileEnding(mimeType);
+            Path attachmentPath = getAttachmentPath(filename);
+            if (!Files.isRegularFile(attachmentPath)) {
+                writeAttachment(attachmentPath, temporaryFile -> fileIO.writeBase64ContentToFile(base64Data, temporaryFile));
+            }
+            return filename;
+        } catch (CluecumberPluginException | IOException e) {
+            logger.error("Could not process attachment of type " + mimeType + " but will continue report generation...");
+            return null;
+        }
+    }
+
+    /**
+     * Wait until all attachments that were handed to the writer threads are written and stop the threads.
+     * This has to be called after parsing and before the report pages are generated.
+     * Attachments that the writer threads could not write are logged together, since the report pages
+     * will still link to them.
+     *
+     * @throws CluecumberPluginException Thrown if waiting for the writer threads is interrupted.
+     */
+    public void flush() throws CluecumberPluginException {
+        ExecutorService executorService;
+        synchronized (this) {
+            executorService = writerThreads;
+            writerThreads = null;
+        }
+        if (executorService == null) {
+            return;
+        }
+        executorService.shutdown();
+        try {
+            executorService.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            executorService.shutdownNow();
+            Thread.currentThread().interrupt();
+            throw new CluecumberPluginException("Writing attachments was interrupted.");
+        } finally {
+            pendingFilenames.clear();
+        }
+        if (!failedFilenames.isEmpty()) {
+            logger.error("Could not write attachments " + String.join(", ", new TreeSet<>(failedFilenames)) +
+                    " but will continue report generation. The report links to these missing attachments.");
+            failedFilenames.clear();
+        }
+    }
+
+    /**
+     * Decode an attachment into memory and hand it to the writer threads.
+     * The memory budget is reserved before decoding, so the decoded buffers in flight never exceed it.
+     * A single attachment that is larger than the whole budget reserves all of it.
+     *
+     * @param base64Data The Base64 encoded attachment data.
+     * @param mimeType   The mime type of the attachment.
+     * @return The filename of the attachment.
+     * @throws CluecumberPluginException Thrown if the data cannot be decoded or waiting for memory is interrupted.
+     */
+    private String writeBase64AttachmentAsynchronously(final CharSequence base64Data, final String mimeType)
+            throws CluecumberPluginException {
+        ExecutorService executorService;
+        Semaphore budget;
+        int reservedBytes;
+        synchronized (this) {
+            executorService = getWriterThreads();
+            budget = memoryBudget;
+            reservedBytes = Math.min(FileIO.getDecodedSize(base64Data), memoryBudgetBytes);
+        }
+        try {
+            budget.acquire(reservedBytes);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CluecumberPluginException("Writing attachments was interrupted.");
+        }
+
+        boolean submitted = false;
+        try {
+            byte[] content = fileIO.decodeBase64Content(base64Data);
+            String filename = fileIO.getContentHash(content) + getFileEnding(mimeType);
+            Path attachmentPath = getAttachmentPath(filename);
+            if (pendingFilenames.add(filename) && !Files.isRegularFile(attachmentPath)) {
+                executorService.execute(() -> {
+                    try {
+                        writeAttachment(attachmentPath, temporaryFile -> fileIO.writeContentToFile(content, temporaryFile));
+                    } catch (CluecumberPluginException | IOException e) {
+                        failedFilenames.add(filename);
+                    } finally {
+                        budget.release(reservedBytes);
+                    }
+                });
+                submitted = true;
+            }
+            return filename;
+        } finally {
+            if (!submitted) {
+                budget.release(reservedBytes);
+            }
+        }
+    }
+
+    /**
+     * Returns the writer threads and the memory budget of the current report generation and creates them if needed.
+     *
+     * @return The {@link ExecutorService} of the writer threads.
+     */
+    private synchronized ExecutorService getWriterThreads() {
+        if (writerThreads == null) {
+            memoryBudgetBytes = (int) Math.min((long) propertyManager.getAttachmentWriterMemory() * BYTES_PER_MEGABYTE,
+                    Integer.MAX_VALUE);
+            memoryBudget = new Semaphore(memoryBudgetBytes);
+            writerThreads = Executors.newFixedThreadPool(propertyManager.getAttachmentWriterThreads());
+        }
+        return writerThreads;
+    }
+
+    private Path getAttachmentPath(final String filename) {
+        return Paths.get(propertyManager.getGeneratedHtmlReportDirectory(), ATTACHMENT_DIRECTORY, filename);
+    }
+
+    /**
+     * Write an attachment to a temporary file and move it into place, so parallel writers of the same
+     * content never leave a partially written attachment behind.
+     *
+     * @param attachmentPath The target path of the attachment.
+     * @param contentWriter  Writes the content to the passed temporary file path.
+     * @throws CluecumberPluginException Thrown if the content cannot be written or moved.
+     * @throws IOException               Thrown if the temporary file cannot be created or removed.
+     */
+    private void writeAttachment(final Path attachmentPath, final ContentWriter contentWriter)
+            throws CluecumberPluginException, IOException {
+        Files.createDirectories(attachmentPath.getParent());
+        Path temporaryFile = Files.createTempFile(
+                attachmentPath.getParent(), attachmentPath.getFileName().toString(), TEMPORARY_FILE_SUFFIX);
+        try {
+            contentWriter.write(temporaryFile.toString());
+            fileIO.moveFile(temporaryFile, attachmentPath);
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    /**
+     * Writes attachment content to a file path.
+     */
+    @FunctionalInterface
+    private interface ContentWriter {
+        void write(String filePath) throws CluecumberPluginException;
+    }
+}
@@ -16,23 +16,44 @@
 
 package com.trivago.rta.filesystem;
 
+import com.trivago.rta.exceptions.CluecumberPluginException;
 import com.trivago.rta.exceptions.filesystem.FileCreationException;
 import com.trivago.rta.exceptions.filesystem.MissingFileException;
 
 import javax.inject.Singleton;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.PrintStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-
-import static java.nio.file.Files.readAllBytes;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 
 /**
  * This class manages reading from and writing to files.
  */
 @Singleton
 public class FileIO {
+
+    private static final int BYTE_BLOCK = 4096;
+    private static final int WRITER_BUFFER_SIZE = 65536;
+    public static final long MEMORY_MAPPING_THRESHOLD = 32L * 1024 * 1024;
+    public static final String HASH_ALGORITHM = "SHA-256";
+
     /**
      * Write string content to a file.
      *
@@ -48,6 +69,26 @@ public class FileIO {
         }
     }
 
+    /**
+     * Open a buffered UTF-8 writer on a file channel so that content can be streamed to the file.
+     * Existing files are overwritten.
+     *
+     * @param filePath the complete path to the target file.
+     * @return the {@link Writer} that has to be closed by the caller.
+     * @throws FileCreationException a {@link FileCreationException} in case the file cannot be created.
+     */
+    public Writer createFileWriter(final String filePath) throws FileCreationException {
+        try {
+            FileChannel fileChannel = FileChannel.open(Paths.get(filePath),
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+            return new BufferedWriter(
+                    Channels.newWriter(fileChannel, StandardCharsets.UTF_8.newEncoder(), WRITER_BUFFER_SIZE),
+                    WRITER_BUFFER_SIZE);
+        } catch (Exception e) {
+            throw new FileCreationException(filePath);
+        }
+    }
+
     /**
      * Write byte array content to a file.
      *
@@ -65,18 +106,239 @@ public class FileIO {
     }
 
     /**
-     * Read string content from a file.
+     * Copy a stream to a file with a single {@link Files#copy(InputStream, Path, java.nio.file.CopyOption...)}
+     * and calculate the SHA-256 hash of the copied content on the way.
+     * Existing files are overwritten.
+     *
+     * @param inputStream the source stream. It is not closed by this method.
+     * @param filePath    the complete path to the target file.
+     * @return the lower case hexadecimal hash of the copied content.
+     * @throws FileCreationException a {@link FileCreationException} in case the file cannot be created.
+     */
+    public String copyContentToFile(final InputStream inputStream, final Path filePath) throws FileCreationException {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance(HASH_ALGORITHM);
+            Files.copy(new DigestInputStream(inputStream, messageDigest), filePath, StandardCopyOption.REPLACE_EXISTING);
+            return toHex(messageDigest.digest());
+        } catch (IOException | NoSuchAlgorithmException e) {
+            throw new FileCreationException(filePath.toString());
+        }
+    }
+
+    /**
+     * Move a file to its target path, replacing an existing file.
+     * The move is atomic if the file system supports it, so readers never see a partially written target.
+     *
+     * @param source the file to move.
+     * @param target the target path.
+     * @throws FileCreationException a {@link FileCreationException} in case the file cannot be moved.
+     */
+    public void moveFile(final Path source, final Path target) throws FileCreationException {
+        try {
+            try {
+                Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            throw new FileCreationException(target.toString());
+        }
+    }
+
+    /**
+     * Decode Base64 content and write it to a file.
+     * The content is decoded in small blocks so the decoded bytes never have to be held in memory at once.
+     *
+     * @param base64Content the Base64 encoded content.
+     * @param filePath      the complete path to the target file.
+     * @throws FileCreationException a {@link FileCreationException} in case the file cannot be created.
+     */
+    public void writeBase64ContentToFile(final CharSequence base64Content, final String filePath) throws FileCreationException {
+        Path path = Paths.get(filePath);
+        try (InputStream inputStream = Base64.getMimeDecoder().wrap(new CharSequenceInputStream(base64Content));
+             OutputStream outputStream = Files.newOutputStream(path)) {
+            byte[] buffer = new byte[BYTE_BLOCK];
+            int readBytes;
+            while ((readBytes = inputStream.read(buffer)) > 0) {
+                outputStream.write(buffer, 0, readBytes);
+            }
+        } catch (Exception e) {
+            throw new FileCreationException(path.toString());
+        }
+    }
+
+    /**
+     * Read UTF-8 string content from a file.
      *
      * @param filePath the complete path to the source file.
      * @return the file contents as a string.
      * @throws MissingFileException a {@link MissingFileException} in case the file does not exist.
      */
     public String readContentFromFile(final String filePath) throws MissingFileException {
-        try {
-            byte[] bytes = readAllBytes(Paths.get(filePath));
-            return new String(bytes).trim();
+        StringBuilder content = new StringBuilder();
+        char[] buffer = new char[BYTE_BLOCK];
+        try (Reader reader = createFileReader(Paths.get(filePath))) {
+            int count;
+            while ((count = reader.read(buffer)) != -1) {
+                content.append(buffer, 0, count);
+            }
         } catch (IOException e) {
             throw new MissingFileException(filePath);
         }
+        return content.toString().trim();
+    }
+
+    /**
+     * Open a UTF-8 reader for a file.
+     * Files of at least {@link #MEMORY_MAPPING_THRESHOLD} bytes are memory mapped and decoded incrementally,
+     * so their content is never copied to the heap as a whole.
+     *
+     * @param filePath the path to the source file.
+     * @return the {@link Reader}. It has to be closed by the caller.
+     * @throws MissingFileException a {@link MissingFileException} in case the file cannot be opened.
+     */
+    public Reader createFileReader(final Path filePath) throws MissingFileException {
+        try {
+            if (Files.size(filePath) >= MEMORY_MAPPING_THRESHOLD) {
+                return new MappedFileReader(filePath);
+            }
+            return Files.newBufferedReader(filePath, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new MissingFileException(filePath.toString());
+        }
+    }
+
+    /**
+     * Calculate the SHA-256 hash of a file's content.
+     * The file is read in small blocks so it never has to be held in memory at once.
+     *
+     * @param filePath the complete path to the source file.
+     * @return the lower case hexadecimal hash.
+     * @throws MissingFileException a {@link MissingFileException} in case the file cannot be read.
+     */
+    public String getContentHash(final Path filePath) throws MissingFileException {
+        try (InputStream inputStream = Files.newInputStream(filePath)) {
+            MessageDigest messageDigest = MessageDigest.getInstance(HASH_ALGORITHM);
+            byte[] buffer = new byte[WRITER_BUFFER_SIZE];
+            int readBytes;
+            while ((readBytes = inputStream.read(buffer)) > 0) {
+                messageDigest.update(buffer, 0, readBytes);
+            }
+            return toHex(messageDigest.digest());
+        } catch (IOException | NoSuchAlgorithmException e) {
+            throw new MissingFileException(filePath.toString());
+        }
+    }
+
+    /**
+     * Calculate the SHA-256 hash of decoded Base64 content without writing or holding the decoded bytes.
+     *
+     * @param base64Content the Base64 encoded content.
+     * @return the lower case hexadecimal hash of the decoded content.
+     * @throws CluecumberPluginException a {@link CluecumberPluginException} in case the content cannot be decoded.
+     */
+    public String getBase64ContentHash(final CharSequence base64Content) throws CluecumberPluginException {
+        try (InputStream inputStream = Base64.getMimeDecoder().wrap(new CharSequenceInputStream(base64Content))) {
+            MessageDigest messageDigest = MessageDigest.getInstance(HASH_ALGORITHM);
+            byte[] buffer = new byte[BYTE_BLOCK];
+            int readBytes;
+            while ((readBytes = inputStream.read(buffer)) > 0) {
+                messageDigest.update(buffer, 0, readBytes);
+            }
+            return toHex(messageDigest.digest());
+        } catch (IOException | IllegalArgumentException | NoSuchAlgorithmException e) {
+            throw new CluecumberPluginException("Could not decode Base64 content: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Decode Base64 content into a byte array.
+     *
+     * @param base64Content the Base64 encoded content.
+     * @return the decoded content.
+     * @throws CluecumberPluginException a {@link CluecumberPluginException} in case the content cannot be decoded.
+     */
+    public byte[] decodeBase64Content(final CharSequence base64Content) throws CluecumberPluginException {
+        try (InputStream inputStream = Base64.getMimeDecoder().wrap(new CharSequenceInputStream(base64Content))) {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream(getDecodedSize(base64Content));
+            byte[] buffer = new byte[BYTE_BLOCK];
+            int readBytes;
+            while ((readBytes = inputStream.read(buffer)) > 0) {
+                outputStream.write(buffer, 0, readBytes);
+            }
+            return outputStream.toByteArray();
+        } catch (IOException | IllegalArgumentException e) {
+            throw new CluecumberPluginException("Could not decode Base64 content: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the maximum size of decoded Base64 content without decoding it.
+     *
+     * @param base64Content the Base64 encoded content.
+     * @return the maximum decoded size in bytes.
+     */
+    public static int getDecodedSize(final CharSequence base64Content) {
+        return (int) ((long) base64Content.length() * 3 / 4);
+    }
+
+    /**
+     * Calculate the SHA-256 hash of a byte array.
+     *
+     * @param content the content.
+     * @return the lower case hexadecimal hash of the content.
+     */
+    public String getContentHash(final byte[] content) {
+        try {
+            return toHex(MessageDigest.getInstance(HASH_ALGORITHM).digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Convert bytes to a lower case hexadecimal string.
+     *
+     * @param bytes the bytes to convert.
+     * @return the hexadecimal string.
+     */
+    public static String toHex(final byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * Exposes the characters of an ASCII {@link CharSequence} (like Base64 data) as a byte stream without copying it.
+     */
+    private static class CharSequenceInputStream extends InputStream {
+        private final CharSequence charSequence;
+        private int position = 0;
+
+        CharSequenceInputStream(final CharSequence charSequence) {
+            this.charSequence = charSequence;
+        }
+
+        @Override
+        public int read() {
+            if (position >= charSequence.length()) {
+                return -1;
+            }
+            return charSequence.charAt(position++) & 0xFF;
+        }
+
+        @Override
+        public int read(final byte[] bytes, final int offset, final int length) {
+            if (position >= charSequence.length()) {
+                return -1;
+            }
+            int count = Math.min(length, charSequence.length() - position);
+            for (int i = 0; i < count; i++) {
+                bytes[offset + i] = (byte) charSequence.charAt(position++);
+            }
+            return count;
+        }
     }
 }
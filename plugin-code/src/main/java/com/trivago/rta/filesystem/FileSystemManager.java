@@ -23,10 +23,7 @@ import com.trivago.rta.properties.PropertyManager;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -36,7 +33,6 @@ import java.util.stream.Collectors;
 @Singleton
 public class FileSystemManager {
 
-    private static final int BYTE_BLOCK = 4096;
     private final PropertyManager propertyManager;
 
     @Inject
@@ -52,6 +48,7 @@ public class FileSystemManager {
                     Files.walk(Paths.get(sourceJsonReportDirectory))
                             .filter(Files::isRegularFile)
                             .filter(p -> p.toString().endsWith(".json"))
+                            .sorted()
                             .collect(Collectors.toList());
 
         } catch (IOException e) {
@@ -72,43 +69,4 @@ public class FileSystemManager {
             throw new PathCreationException(dirName);
         }
     }
-
-    /**
-     * Export a resource embedded into a Jar file to the local file path.
-     *
-     * @param baseClass    jar base class.
-     * @param resourceName path to the embedded resource.
-     * @param destination  full path to the destination resource.
-     * @throws CluecumberPluginException (see {@link CluecumberPluginException}.
-     */
-    public void exportResource(final Class baseClass, final String resourceName, final String destination) throws CluecumberPluginException {
-        InputStream inputStream = null;
-        OutputStream outputStream = null;
-        try {
-            inputStream = baseClass.getResourceAsStream(resourceName);
-            if (inputStream == null) {
-                throw new Exception("Cannot get resource \"" + resourceName + "\".");
-            }
-
-            int readBytes;
-            byte[] buffer = new byte[BYTE_BLOCK];
-            outputStream = new FileOutputStream(destination);
-            while ((readBytes = inputStream.read(buffer)) > 0) {
-                outputStream.write(buffer, 0, readBytes);
-            }
-        } catch (Exception e) {
-            throw new CluecumberPluginException(e.getMessage());
-        } finally {
-            try {
-                if (inputStream != null) {
-                    inputStream.close();
-                }
-                if (outputStream != null) {
-                    outputStream.close();
-                }
-            } catch (IOException e) {
-                throw new CluecumberPluginException(e.getMessage());
-            }
-        }
-    }
 }
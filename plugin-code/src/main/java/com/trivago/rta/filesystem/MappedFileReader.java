@@ -0,0 +1,139 @@
+/*
+ * Copyright 2018 trivago N.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.trivago.rta.filesystem;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads a UTF-8 file through memory mapped windows instead of copying it into heap buffers.
+ * <p>
+ * The characters are decoded incrementally into a small buffer, so neither the bytes nor the characters of the
+ * complete file are held on the heap. Multi byte characters that span two windows are carried over to the next window.
+ * Malformed input leads to an {@link IOException} like in {@link java.nio.file.Files#newBufferedReader(Path)}.
+ */
+public class MappedFileReader extends Reader {
+
+    static final long DEFAULT_WINDOW_SIZE = 256L * 1024 * 1024;
+    private static final int CHAR_BUFFER_SIZE = 8192;
+
+    private final FileChannel fileChannel;
+    private final long fileSize;
+    private final long windowSize;
+    private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder();
+    private final CharBuffer charBuffer = CharBuffer.allocate(CHAR_BUFFER_SIZE);
+
+    private MappedByteBuffer window;
+    private long windowStart;
+    private boolean endOfInput;
+
+    /**
+     * @param filePath The path to the UTF-8 file.
+     * @throws IOException Thrown if the file cannot be opened or mapped.
+     */
+    public MappedFileReader(final Path filePath) throws IOException {
+        this(filePath, DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * @param filePath   The path to the UTF-8 file.
+     * @param windowSize The maximum number of bytes that are mapped at once.
+     * @throws IOException Thrown if the file cannot be opened or mapped.
+     */
+    public MappedFileReader(final Path filePath, final long windowSize) throws IOException {
+        if (windowSize < 4 || windowSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("The window size must be between 4 bytes and 2 GB.");
+        }
+        this.fileChannel = FileChannel.open(filePath, StandardOpenOption.READ);
+        this.windowSize = windowSize;
+        try {
+            this.fileSize = fileChannel.size();
+            mapWindow(0);
+        } catch (IOException e) {
+            fileChannel.close();
+            throw e;
+        }
+        charBuffer.flip();
+    }
+
+    @Override
+    public int read(final char[] chars, final int offset, final int length) throws IOException {
+        if (window == null) {
+            throw new IOException("Reader is closed.");
+        }
+        if (length == 0) {
+            return 0;
+        }
+        while (!charBuffer.hasRemaining()) {
+            if (endOfInput) {
+                return -1;
+            }
+            fillCharBuffer();
+        }
+        int count = Math.min(length, charBuffer.remaining());
+        charBuffer.get(chars, offset, count);
+        return count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        // The mapping itself is released by the garbage collector since Java 8 offers no way to unmap it.
+        window = null;
+        fileChannel.close();
+    }
+
+    /**
+     * Decode the next characters into the char buffer, moving to the next window when the current one is used up.
+     *
+     * @throws IOException Thrown if the input is malformed or the next window cannot be mapped.
+     */
+    private void fillCharBuffer() throws IOException {
+        charBuffer.clear();
+        while (true) {
+            boolean lastWindow = windowStart + window.limit() >= fileSize;
+            CoderResult coderResult = decoder.decode(window, charBuffer, lastWindow);
+            if (coderResult.isError()) {
+                coderResult.throwException();
+            }
+            if (coderResult.isOverflow()) {
+                break;
+            }
+            if (lastWindow) {
+                decoder.flush(charBuffer);
+                endOfInput = true;
+                break;
+            }
+            // Bytes of an incomplete character at the end of this window are mapped again with the next one.
+            mapWindow(windowStart + window.position());
+        }
+        charBuffer.flip();
+    }
+
+    private void mapWindow(final long start) throws IOException {
+        long size = Math.min(windowSize, fileSize - start);
+        window = fileChannel.map(FileChannel.MapMode.READ_ONLY, start, size);
+        windowStart = start;
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2018 trivago N.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.trivago.rta.incremental;
+
+import com.trivago.rta.constants.PluginSettings;
+import com.trivago.rta.exceptions.CluecumberPluginException;
+import com.trivago.rta.exceptions.filesystem.MissingFileException;
+import com.trivago.rta.json.JsonPojoConverter;
+import com.trivago.rta.json.pojo.Report;
+import com.trivago.rta.logging.CluecumberLogger;
+import com.trivago.rta.properties.PropertyManager;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.UUID;
+
+/**
+ * Caches the post processed {@link Report} objects of every Cucumber JSON file for incremental report generation.
+ * The reports are stored as binary snapshots that include derived data like attachment filenames,
+ * so unchanged sources are neither parsed nor post processed again.
+ * Every Cucumber JSON file has its own cache file, so parsing threads never share an entry.
+ */
+@Singleton
+public class ReportCache {
+
+    static final String CACHE_DIRECTORY = "reports";
+    private static final String CACHE_FILE_EXTENSION = ".snapshot";
+
+    private final PropertyManager propertyManager;
+    private final JsonPojoConverter jsonPojoConverter;
+    private final CluecumberLogger logger;
+
+    @Inject
+    public ReportCache(
+            final PropertyManager propertyManager,
+            final JsonPojoConverter jsonPojoConverter,
+            final CluecumberLogger logger
+    ) {
+        this.propertyManager = propertyManager;
+        this.jsonPojoConverter = jsonPojoConverter;
+        this.logger = logger;
+    }
+
+    /**
+     * Read the cached reports of a Cucumber JSON file.
+     *
+     * @param jsonFilePath The path to the Cucumber JSON file.
+     * @return The cached {@link Report} array or null if there is no usable cache entry.
+     */
+    public Report[] read(final Path jsonFilePath) {
+        if (!propertyManager.isIncrementalGeneration()) {
+            return null;
+        }
+        Path cacheFilePath = getCacheFilePath(jsonFilePath.toString());
+        try {
+            return jsonPojoConverter.readReportSnapshot(cacheFilePath);
+        } catch (MissingFileException e) {
+            return null;
+        } catch (CluecumberPluginException e) {
+            logger.info("Cached reports of " + jsonFilePath + " cannot be read and will be parsed again.");
+            return null;
+        }
+    }
+
+    /**
+     * Write the reports of a Cucumber JSON file to the cache.
+     * Failures are logged since the reports can always be parsed again.
+     *
+     * @param jsonFilePath The path to the Cucumber JSON file.
+     * @param reports      The post processed {@link Report} array.
+     */
+    public void write(final Path jsonFilePath, final Report[] reports) {
+        if (!propertyManager.isIncrementalGeneration() || reports == null) {
+            return;
+        }
+        Path cacheFilePath = getCacheFilePath(jsonFilePath.toString());
+        try {
+            Files.createDirectories(cacheFilePath.getParent());
+            jsonPojoConverter.writeReportSnapshot(reports, cacheFilePath);
+        } catch (IOException | CluecumberPluginException e) {
+            logger.error("Could not cache reports of " + jsonFilePath + " but will continue report generation...");
+        }
+    }
+
+    /**
+     * Remove the cached reports of a Cucumber JSON file.
+     *
+     * @param jsonFilePath The path to the Cucumber JSON file.
+     */
+    public void delete(final String jsonFilePath) {
+        try {
+            Files.deleteIfExists(getCacheFilePath(jsonFilePath));
+        } catch (IOException e) {
+            logger.error("Could not remove cached reports of " + jsonFilePath);
+        }
+    }
+
+    /**
+     * Returns the cache file of a Cucumber JSON file, named by a stable hash of its path.
+     *
+     * @param jsonFilePath The path to the Cucumber JSON file.
+     * @return The cache file path.
+     */
+    private Path getCacheFilePath(final String jsonFilePath) {
+        String pathHash = UUID.nameUUIDFromBytes(jsonFilePath.getBytes(StandardCharsets.UTF_8)).toString();
+        return Paths.get(propertyManager.getGeneratedHtmlReportDirectory(),
+                PluginSettings.INCREMENTAL_DIRECTORY, CACHE_DIRECTORY, pathHash + CACHE_FILE_EXTENSION);
+    }
+}
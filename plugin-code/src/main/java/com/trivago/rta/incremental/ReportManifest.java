@@ -0,0 +1,316 @@
+/*
+ * Copyright 2018 trivago N.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.trivago.rta.incremental;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import com.trivago.rta.constants.PluginSettings;
+import com.trivago.rta.exceptions.CluecumberPluginException;
+import com.trivago.rta.exceptions.filesystem.FileCreationException;
+import com.trivago.rta.exceptions.filesystem.MissingFileException;
+import com.trivago.rta.filesystem.FileIO;
+import com.trivago.rta.json.pojo.Element;
+import com.trivago.rta.json.pojo.Report;
+import com.trivago.rta.logging.CluecumberLogger;
+import com.trivago.rta.properties.PropertyManager;
+import com.trivago.rta.rendering.RenderingUtils;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps track of the Cucumber JSON files and generated pages of the last report generation.
+ * <p>
+ * Every source file is stored with its size, modification time and content hash. Every page is stored with a fingerprint of the data it was rendered from,
+ * so unchanged sources are read from the {@link ReportCache} and unchanged pages are not rendered again.
+ * <p>
+ * Sources and pages can be registered by multiple threads at the same time.
+ */
+@Singleton
+public class ReportManifest {
+
+    static final String MANIFEST_FILE = "manifest.json";
+    private static final int MANIFEST_VERSION = 1;
+
+    private final PropertyManager propertyManager;
+    private final FileIO fileIO;
+    private final ReportCache reportCache;
+    private final CluecumberLogger logger;
+    private final Gson gson;
+
+    private Manifest previousManifest = new Manifest();
+    private final Map<String, SourceFile> sourceFiles = new ConcurrentHashMap<>();
+    private final Map<String, String> pages = new ConcurrentHashMap<>();
+
+    @Inject
+    public ReportManifest(
+            final PropertyManager propertyManager,
+            final FileIO fileIO,
+            final ReportCache reportCache,
+            final CluecumberLogger logger
+    ) {
+        this.propertyManager = propertyManager;
+        this.fileIO = fileIO;
+        this.reportCache = reportCache;
+        this.logger = logger;
+        this.gson = new GsonBuilder().setPrettyPrinting().create();
+    }
+
+    /**
+     * Load the manifest of the last report generation.
+     * The manifest file is removed afterwards, so a failing generation leads to a complete one next time.
+     * A manifest that was written with different settings is ignored.
+     *
+     * @throws CluecumberPluginException Thrown if the manifest file cannot be removed.
+     */
+    public void load() throws CluecumberPluginException {
+        previousManifest = new Manifest();
+        sourceFiles.clear();
+        pages.clear();
+        if (!propertyManager.isIncrementalGeneration()) {
+            return;
+        }
+
+        Path manifestPath = getManifestPath();
+        if (!Files.isRegularFile(manifestPath)) {
+            return;
+        }
+        try (Reader reader = Files.newBufferedReader(manifestPath, StandardCharsets.UTF_8)) {
+            Manifest manifest = gson.fromJson(reader, Manifest.class);
+            if (manifest != null && getSettingsFingerprint().equals(manifest.settings)) {
+                previousManifest = manifest;
+            } else {
+                logger.info("Report settings have changed, all pages will be generated.");
+            }
+        } catch (IOException | JsonParseException e) {
+            logger.info("Report manifest cannot be read, all pages will be generated.");
+        }
+
+        try {
+            Files.delete(manifestPath);
+        } catch (IOException e) {
+            throw new CluecumberPluginException("Could not remove report manifest " + manifestPath + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Register a Cucumber JSON file for this generation.
+     * Its content hash is only calculated if its size or modification time have changed.
+     *
+     * @param jsonFilePath The path to the Cucumber JSON file.
+     * @return true if the file content is unchanged since the last generation.
+     * @throws MissingFileException Thrown if the file cannot be read.
+     */
+    public boolean updateSource(final Path jsonFilePath) throws MissingFileException {
+        if (!propertyManager.isIncrementalGeneration()) {
+            return false;
+        }
+
+        String key = jsonFilePath.toString();
+        SourceFile sourceFile = new SourceFile();
+        try {
+            sourceFile.size = Files.size(jsonFilePath);
+            sourceFile.lastModified = Files.getLastModifiedTime(jsonFilePath).toMillis();
+        } catch (IOException e) {
+            throw new MissingFileException(key);
+        }
+
+        SourceFile previousSourceFile = previousManifest.sources.get(key);
+        if (previousSourceFile != null &&
+                previousSourceFile.size == sourceFile.size &&
+                previousSourceFile.lastModified == sourceFile.lastModified) {
+            sourceFile.hash = previousSourceFile.hash;
+        } else {
+            sourceFile.hash = fileIO.getContentHash(jsonFilePath);
+        }
+        sourceFiles.put(key, sourceFile);
+
+        boolean unchanged = previousSourceFile != null && sourceFile.hash.equals(previousSourceFile.hash);
+        if (!unchanged) {
+            // The cache must never outlive the content it was created from, even if parsing fails.
+            reportCache.delete(key);
+        }
+        return unchanged;
+    }
+
+    /**
+     * Register the indexed reports of a Cucumber JSON file.
+     * Every scenario gets a source fingerprint that is part of the fingerprints of the pages it is rendered on.
+     *
+     * @param jsonFilePath The path to the Cucumber JSON file.
+     * @param reports      The {@link Report} array of this file with scenario indexes.
+     */
+    public void registerReports(final Path jsonFilePath, final Report[] reports) {
+        SourceFile sourceFile = sourceFiles.get(jsonFilePath.toString());
+        if (!propertyManager.isIncrementalGeneration() || sourceFile == null || reports == null) {
+            return;
+        }
+
+        for (int reportIndex = 0; reportIndex < reports.length; reportIndex++) {
+            List<Element> elements = reports[reportIndex].getElements();
+            for (int elementIndex = 0; elementIndex < elements.size(); elementIndex++) {
+                Element element = elements.get(elementIndex);
+                element.setSourceFingerprint(sourceFile.hash + "/" + reportIndex + "/" + elementIndex);
+            }
+        }
+    }
+
+    /**
+     * Returns a fingerprint of the scenarios and features that a page is rendered from.
+     *
+     * @param reports The {@link Report} list of the page.
+     * @return The fingerprint or null if incremental generation is disabled.
+     */
+    public String getFingerprint(final List<Report> reports) {
+        if (!propertyManager.isIncrementalGeneration()) {
+            return null;
+        }
+
+        MessageDigest messageDigest = createMessageDigest();
+        for (Report report : reports) {
+            messageDigest.update((report.getName() + "#" + report.getFeatureIndex() + "\n").getBytes(StandardCharsets.UTF_8));
+            for (Element element : report.getElements()) {
+                messageDigest.update((element.getScenarioIndex() + "#" + element.getSourceFingerprint() + "\n")
+                        .getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        return FileIO.toHex(messageDigest.digest());
+    }
+
+    /**
+     * Register a page for this generation and check if it has to be rendered.
+     *
+     * @param pagePath    The complete path to the page.
+     * @param fingerprint The fingerprint of the page data or null if it is unknown.
+     * @return true if the page exists and was generated from the same data before.
+     */
+    public boolean isPageUpToDate(final String pagePath, final String fingerprint) {
+        if (!propertyManager.isIncrementalGeneration() || fingerprint == null) {
+            return false;
+        }
+
+        Path absolutePagePath = Paths.get(pagePath).toAbsolutePath().normalize();
+        String relativePagePath = getReportDirectory().relativize(absolutePagePath).toString().replace('\\', '/');
+        pages.put(relativePagePath, fingerprint);
+        return fingerprint.equals(previousManifest.pages.get(relativePagePath)) && Files.isRegularFile(absolutePagePath);
+    }
+
+    /**
+     * Remove pages and cached reports of the last generation that are not part of this one and write the manifest.
+     *
+     * @throws CluecumberPluginException Thrown if the manifest cannot be written.
+     */
+    public void save() throws CluecumberPluginException {
+        if (!propertyManager.isIncrementalGeneration()) {
+            return;
+        }
+
+        Path reportDirectory = getReportDirectory();
+        for (String pagePath : previousManifest.pages.keySet()) {
+            if (!pages.containsKey(pagePath)) {
+                try {
+                    Files.deleteIfExists(reportDirectory.resolve(pagePath));
+                } catch (IOException e) {
+                    logger.error("Could not remove outdated page " + pagePath);
+                }
+            }
+        }
+        for (String sourcePath : previousManifest.sources.keySet()) {
+            if (!sourceFiles.containsKey(sourcePath)) {
+                reportCache.delete(sourcePath);
+            }
+        }
+
+        Manifest manifest = new Manifest();
+        manifest.settings = getSettingsFingerprint();
+        manifest.sources = new TreeMap<>(sourceFiles);
+        manifest.pages = new TreeMap<>(pages);
+
+        Path manifestPath = getManifestPath();
+        try {
+            Files.createDirectories(manifestPath.getParent());
+            try (Writer writer = fileIO.createFileWriter(manifestPath.toString())) {
+                gson.toJson(manifest, writer);
+            }
+        } catch (IOException e) {
+            throw new FileCreationException(manifestPath.toString());
+        }
+    }
+
+    /**
+     * Returns a fingerprint of everything besides the source files that influences the generated pages.
+     *
+     * @return The settings fingerprint.
+     */
+    private String getSettingsFingerprint() {
+        Map<String, String> customParameters = propertyManager.getCustomParameters();
+        return MANIFEST_VERSION + "|" + RenderingUtils.getPluginVersion() + "|" + propertyManager.isPrettifyHtml() + "|" +
+                propertyManager.isDeferredRendering() + "|" +
+                propertyManager.getSharedAssetDirectory() + "|" + propertyManager.getEmbeddingSizeThreshold() + "|" +
+                propertyManager.getLazyContentThreshold() + "|" +
+                (customParameters == null ? "" : new TreeMap<>(customParameters).toString());
+    }
+
+    private Path getReportDirectory() {
+        return Paths.get(propertyManager.getGeneratedHtmlReportDirectory()).toAbsolutePath().normalize();
+    }
+
+    private Path getManifestPath() {
+        return getReportDirectory().resolve(PluginSettings.INCREMENTAL_DIRECTORY).resolve(MANIFEST_FILE);
+    }
+
+    private MessageDigest createMessageDigest() {
+        try {
+            return MessageDigest.getInstance(FileIO.HASH_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * The stored manifest.
+     */
+    private static class Manifest {
+        private String settings = "";
+        private Map<String, SourceFile> sources = new HashMap<>();
+        private Map<String, String> pages = new HashMap<>();
+    }
+
+    /**
+     * The size, modification time and content hash of a Cucumber JSON file.
+     */
+    private static class SourceFile {
+        private long size;
+        private long lastModified;
+        private String hash = "";
+    }
+}
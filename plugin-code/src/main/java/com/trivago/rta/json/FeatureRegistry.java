@@ -0,0 +1,86 @@
+/*
+ * Copyright 2018 trivago N.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.trivago.rta.json;
+
+import com.trivago.rta.rendering.pages.pojos.Feature;
+
+import javax.inject.Singleton;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hash indexed registry of all features of the parsed reports.
+ * Every feature name is registered once and keeps its index for the whole report generation.
+ */
+@Singleton
+public class FeatureRegistry {
+    private final Map<String, Feature> featuresByName = new HashMap<>();
+    private final List<Feature> features = new ArrayList<>();
+
+    /**
+     * Register a feature name. Unknown names get the next free feature index.
+     *
+     * @param featureName The feature name.
+     * @return The registered {@link Feature}.
+     */
+    public synchronized Feature register(final String featureName) {
+        return featuresByName.computeIfAbsent(featureName, name -> {
+            Feature feature = new Feature(name, features.size());
+            features.add(feature);
+            return feature;
+        });
+    }
+
+    /**
+     * Get a registered feature by its name.
+     *
+     * @param featureName The feature name.
+     * @return The {@link Feature} or null if it is not registered.
+     */
+    public synchronized Feature getFeature(final String featureName) {
+        return featuresByName.get(featureName);
+    }
+
+    /**
+     * Get a registered feature by its index.
+     *
+     * @param featureIndex The feature index.
+     * @return The {@link Feature} or null if it is not registered.
+     */
+    public synchronized Feature getFeature(final int featureIndex) {
+        if (featureIndex < 0 || featureIndex >= features.size()) {
+            return null;
+        }
+        return features.get(featureIndex);
+    }
+
+    /**
+     * Get all registered features.
+     *
+     * @return The {@link Feature} list ordered by feature index.
+     */
+    public synchronized List<Feature> getFeatures() {
+        return new ArrayList<>(features);
+    }
+
+    public synchronized void clear() {
+        featuresByName.clear();
+        features.clear();
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2018 trivago N.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.trivago.rta.json;
+
+import com.trivago.rta.exceptions.CluecumberPluginException;
+import com.trivago.rta.incremental.ReportCache;
+import com.trivago.rta.incremental.ReportManifest;
+import com.trivago.rta.json.pojo.Element;
+import com.trivago.rta.json.pojo.Report;
+import com.trivago.rta.logging.CluecumberLogger;
+import com.trivago.rta.properties.PropertyManager;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Parses multiple Cucumber JSON files concurrently and merges their reports in file order.
+ */
+@Singleton
+public class JsonFileParser {
+
+    private final JsonPojoConverter jsonPojoConverter;
+    private final FeatureRegistry featureRegistry;
+    private final ReportManifest reportManifest;
+    private final ReportCache reportCache;
+    private final PropertyManager propertyManager;
+    private final CluecumberLogger logger;
+
+    @Inject
+    public JsonFileParser(
+            final JsonPojoConverter jsonPojoConverter,
+            final FeatureRegistry featureRegistry,
+            final ReportManifest reportManifest,
+            final ReportCache reportCache,
+            final PropertyManager propertyManager,
+            final CluecumberLogger logger
+    ) {
+        this.jsonPojoConverter = jsonPojoConverter;
+        this.featureRegistry = featureRegistry;
+        this.reportManifest = reportManifest;
+        this.reportCache = reportCache;
+        this.propertyManager = propertyManager;
+        this.logger = logger;
+    }
+
+    /**
+     * Parse all JSON files with a bounded number of worker threads.
+     * The returned reports keep the order of the passed paths and are indexed after merging,
+     * so scenario and feature indexes do not depend on the number of threads.
+     * In incremental mode, files that have not changed since the last generation are read from the {@link ReportCache}.
+     *
+     * @param jsonFilePaths The paths of the Cucumber JSON files.
+     * @return The merged {@link Report} array.
+     * @throws CluecumberPluginException Thrown if the parsing is interrupted.
+     */
+    public Report[] parseJsonFiles(final List<Path> jsonFilePaths) throws CluecumberPluginException {
+        List<Report> reports = new ArrayList<>();
+        Report[][] reportsByFile = new Report[jsonFilePaths.size()][];
+        if (jsonFilePaths.isEmpty()) {
+            return new Report[0];
+        }
+
+        int threads = Math.min(propertyManager.getParsingThreads(), jsonFilePaths.size());
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Report[]>> parsedFiles = new ArrayList<>();
+            for (Path jsonFilePath : jsonFilePaths) {
+                parsedFiles.add(executorService.submit(() -> convertJsonFile(jsonFilePath)));
+            }
+
+            for (int i = 0; i < jsonFilePaths.size(); i++) {
+                try {
+                    Report[] fileReports = parsedFiles.get(i).get();
+                    if (fileReports != null) {
+                        reportsByFile[i] = Arrays.stream(fileReports).filter(Objects::nonNull).toArray(Report[]::new);
+                        reports.addAll(Arrays.asList(reportsByFile[i]));
+                    }
+                } catch (ExecutionException e) {
+                    logger.error("Could not parse JSON in file '" + jsonFilePaths.get(i).toString() + "': " +
+                            e.getCause().getMessage());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CluecumberPluginException("JSON parsing was interrupted.");
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        addIndexes(reports);
+        for (int i = 0; i < jsonFilePaths.size(); i++) {
+            reportManifest.registerReports(jsonFilePaths.get(i), reportsByFile[i]);
+        }
+        return reports.toArray(new Report[0]);
+    }
+
+    /**
+     * Convert a single JSON file or read its cached reports if it is unchanged since the last generation.
+     *
+     * @param jsonFilePath The path to the Cucumber JSON file.
+     * @return The {@link Report} array of this file or null if the file is empty.
+     * @throws CluecumberPluginException Thrown if the file is missing or cannot be parsed.
+     */
+    private Report[] convertJsonFile(final Path jsonFilePath) throws CluecumberPluginException {
+        if (reportManifest.updateSource(jsonFilePath)) {
+            Report[] cachedReports = reportCache.read(jsonFilePath);
+            if (cachedReports != null) {
+                return cachedReports;
+            }
+        }
+        Report[] reports = jsonPojoConverter.convertJsonToReportPojos(jsonFilePath);
+        reportCache.write(jsonFilePath, reports);
+        return reports;
+    }
+
+    /**
+     * Add feature and scenario indexes (used for link creation to the detail reports) in merge order.
+     * The features are registered in the {@link FeatureRegistry}.
+     *
+     * @param reports The merged {@link Report} list.
+     */
+    private void addIndexes(final List<Report> reports) {
+        featureRegistry.clear();
+        int scenarioIndex = 0;
+        for (Report report : reports) {
+            report.setFeatureIndex(featureRegistry.register(report.getName()).getIndex());
+            for (Element element : report.getElements()) {
+                element.setScenarioIndex(scenarioIndex);
+                scenarioIndex++;
+            }
+        }
+    }
+}
@@ -18,38 +18,154 @@ package com.trivago.rta.json;
 
 import com.google.gson.Gson;
 import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+import com.trivago.rta.constants.Status;
 import com.trivago.rta.exceptions.CluecumberPluginException;
-import com.trivago.rta.json.pojo.Element;
+import com.trivago.rta.exceptions.filesystem.FileCreationException;
+import com.trivago.rta.exceptions.filesystem.MissingFileException;
+import com.trivago.rta.filesystem.AttachmentWriter;
+import com.trivago.rta.filesystem.FileIO;
+import com.trivago.rta.json.pojo.Embedding;
 import com.trivago.rta.json.pojo.Report;
-import com.trivago.rta.json.postprocessors.ElementPostProcessor;
 import com.trivago.rta.json.postprocessors.ReportPostProcessor;
+import com.trivago.rta.json.snapshot.ReportSnapshotReader;
+import com.trivago.rta.json.snapshot.ReportSnapshotWriter;
+import com.trivago.rta.json.typeadapters.EmbeddingTypeAdapter;
+import com.trivago.rta.json.typeadapters.StatusTypeAdapter;
+import com.trivago.rta.json.typeadapters.StringInterningTypeAdapterFactory;
 import io.gsonfire.GsonFireBuilder;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 
+/**
+ * Converts Cucumber JSON to {@link Report} objects.
+ * Post processed reports can be stored as compact binary snapshots that are read much faster than the original JSON.
+ * This class can be used by multiple threads at the same time since the parser and its type adapters are stateless
+ * (apart from the thread safe string intern table that is shared by all parsed reports).
+ */
 @Singleton
 public class JsonPojoConverter {
 
+    private final FileIO fileIO;
     private final Gson gsonParser;
-    private final Gson gsonParserWithProcessors;
 
     @Inject
-    public JsonPojoConverter(final ReportPostProcessor reportPostProcessor, final ElementPostProcessor elementPostProcessor) {
-        GsonFireBuilder builder = new GsonFireBuilder()
+    public JsonPojoConverter(
+            final ReportPostProcessor reportPostProcessor,
+            final AttachmentWriter attachmentWriter,
+            final FileIO fileIO
+    ) {
+        this.fileIO = fileIO;
+        this.gsonParser = new GsonFireBuilder()
                 .registerPostProcessor(Report.class, reportPostProcessor)
-                .registerPostProcessor(Element.class, elementPostProcessor);
-        gsonParserWithProcessors = builder.createGson();
-        gsonParser = new Gson();
+                .createGsonBuilder()
+                .registerTypeAdapter(Embedding.class, new EmbeddingTypeAdapter(attachmentWriter))
+                .registerTypeAdapter(Status.class, new StatusTypeAdapter())
+                .registerTypeAdapterFactory(new StringInterningTypeAdapterFactory())
+                .create();
     }
 
+    /**
+     * Convert a Cucumber JSON string to {@link Report} objects.
+     *
+     * @param json The Cucumber JSON string.
+     * @return The {@link Report} array or null if the JSON is empty.
+     * @throws CluecumberPluginException Thrown if the JSON cannot be parsed.
+     */
     public Report[] convertJsonToReportPojos(final String json) throws CluecumberPluginException {
-        Report[] reports = null;
-        try {
-            reports = gsonParserWithProcessors.fromJson(json, Report[].class);
-        } catch (JsonParseException e) {
+        try (JsonReader jsonReader = new JsonReader(new StringReader(json))) {
+            return readReports(jsonReader);
+        } catch (JsonParseException | IOException | IllegalStateException e) {
             throw new CluecumberPluginException(e.getMessage());
         }
-        return reports;
     }
-}
\ No newline at end of file
+
+    /**
+     * Convert a Cucumber JSON file to {@link Report} objects.
+     * The file is streamed so that only one {@link Report} at a time is held as a JSON tree.
+     * Large files are memory mapped (see {@link FileIO#createFileReader(Path)}).
+     *
+     * @param jsonFilePath The path to the Cucumber JSON file.
+     * @return The {@link Report} array or null if the file is empty.
+     * @throws CluecumberPluginException Thrown if the file is missing or cannot be parsed.
+     */
+    public Report[] convertJsonToReportPojos(final Path jsonFilePath) throws CluecumberPluginException {
+        try (JsonReader jsonReader = new JsonReader(fileIO.createFileReader(jsonFilePath))) {
+            return readReports(jsonReader);
+        } catch (JsonParseException | IOException | IllegalStateException e) {
+            throw new CluecumberPluginException(e.getMessage());
+        }
+    }
+
+    /**
+     * Write post processed {@link Report} objects to a binary snapshot file.
+     * Attachments are expected to be written to files already, so only their filenames are stored.
+     *
+     * @param reports          The {@link Report} array.
+     * @param snapshotFilePath The path to the snapshot file.
+     * @throws FileCreationException Thrown if the snapshot file cannot be written.
+     */
+    public void writeReportSnapshot(final Report[] reports, final Path snapshotFilePath) throws FileCreationException {
+        try (OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(snapshotFilePath))) {
+            new ReportSnapshotWriter(outputStream).write(reports);
+        } catch (IOException e) {
+            throw new FileCreationException(snapshotFilePath.toString());
+        }
+    }
+
+    /**
+     * Read {@link Report} objects from a binary snapshot file.
+     * The reports are not post processed again.
+     *
+     * @param snapshotFilePath The path to the snapshot file.
+     * @return The {@link Report} array.
+     * @throws CluecumberPluginException Thrown if the file is missing or is no valid snapshot.
+     */
+    public Report[] readReportSnapshot(final Path snapshotFilePath) throws CluecumberPluginException {
+        try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(snapshotFilePath))) {
+            return new ReportSnapshotReader(inputStream).read();
+        } catch (NoSuchFileException e) {
+            throw new MissingFileException(snapshotFilePath.toString());
+        } catch (IOException e) {
+            throw new CluecumberPluginException("Could not read report snapshot " + snapshotFilePath + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Read the top level report array one {@link Report} at a time.
+     *
+     * @param jsonReader The {@link JsonReader} positioned at the start of the document.
+     * @return The {@link Report} array or null if the document is empty.
+     * @throws IOException Thrown if the document cannot be read.
+     */
+    private Report[] readReports(final JsonReader jsonReader) throws IOException {
+        jsonReader.setLenient(true);
+        try {
+            jsonReader.peek();
+        } catch (EOFException e) {
+            // An empty document does not contain any reports.
+            return null;
+        }
+
+        List<Report> reports = new ArrayList<>();
+        jsonReader.beginArray();
+        while (jsonReader.hasNext()) {
+            reports.add(gsonParser.fromJson(jsonReader, Report.class));
+        }
+        jsonReader.endArray();
+        return reports.toArray(new Report[0]);
+    }
+}
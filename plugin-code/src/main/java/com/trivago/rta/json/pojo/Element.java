@@ -35,6 +35,8 @@ public class Element {
     private List<Tag> tags = new ArrayList<>();
 
     private transient int scenarioIndex = -1;
+    private transient String sourceFingerprint;
+    private transient volatile int[] stepStatusCounts;
 
     public List<Tag> getTags() {
         return tags;
@@ -114,6 +116,7 @@ public class Element {
 
     public void setSteps(final List<Step> steps) {
         this.steps = steps;
+        stepStatusCounts = null;
     }
 
     public boolean isScenario() {
@@ -132,6 +135,13 @@ public class Element {
         return getStatus() == Status.SKIPPED;
     }
 
+    /**
+     * Get the scenario status that results from the status of its steps.
+     * The step statuses are counted once and cached until {@link #setSteps(List)} is called,
+     * so the step list must not be changed in place afterwards.
+     *
+     * @return The {@link Status} of this element.
+     */
     public Status getStatus() {
         int totalSteps = steps.size();
 
@@ -141,8 +151,7 @@ public class Element {
 
         // If all steps have the same status, return this as the scenario status.
         for (Status status : Status.values()) {
-            int stepNumber = (int) steps.stream().filter(step -> step.getStatus() == status).count();
-            if (totalSteps == stepNumber) {
+            if (totalSteps == getNumberOfStepsWithStatus(status)) {
                 if (status != Status.UNDEFINED) {
                     return status;
                 } else {
@@ -152,9 +161,7 @@ public class Element {
         }
 
         // Skip scenario if it contains a mixture of pending and skipped steps.
-        int totalSkippedSteps = (int) steps.stream().filter(
-                step -> step.getStatus() == Status.PENDING || step.getStatus() == Status.SKIPPED
-        ).count();
+        int totalSkippedSteps = getNumberOfStepsWithStatus(Status.PENDING) + getNumberOfStepsWithStatus(Status.SKIPPED);
         if (totalSkippedSteps == totalSteps){
             return Status.SKIPPED;
         }
@@ -170,6 +177,14 @@ public class Element {
         this.scenarioIndex = scenarioIndex;
     }
 
+    public String getSourceFingerprint() {
+        return sourceFingerprint;
+    }
+
+    public void setSourceFingerprint(final String sourceFingerprint) {
+        this.sourceFingerprint = sourceFingerprint;
+    }
+
     public int getTotalNumberOfSteps() {
         return getSteps().size();
     }
@@ -189,7 +204,24 @@ public class Element {
     }
 
     private int getNumberOfStepsWithStatus(final Status status) {
-        return (int) getSteps().stream().filter(step -> step.getStatus() == status).count();
+        return getStepStatusCounts()[status.ordinal()];
+    }
+
+    /**
+     * Count the steps per status in a single pass. The result is cached until the steps are replaced.
+     *
+     * @return The step counts indexed by {@link Status} ordinal.
+     */
+    private int[] getStepStatusCounts() {
+        int[] counts = stepStatusCounts;
+        if (counts == null) {
+            counts = new int[Status.values().length];
+            for (Step step : steps) {
+                counts[step.getStatus().ordinal()]++;
+            }
+            stepStatusCounts = counts;
+        }
+        return counts;
     }
 
     public long getTotalDuration() {
@@ -206,6 +238,26 @@ public class Element {
         return totalDurationMicroseconds;
     }
 
+    /**
+     * Returns the number of characters of output and embedding data of all steps and hooks
+     * that are shown inline in the scenario detail page.
+     *
+     * @return The inline content size.
+     */
+    public long getInlineContentSize() {
+        long inlineContentSize = 0;
+        for (Before beforeStep : before) {
+            inlineContentSize += beforeStep.getInlineContentSize();
+        }
+        for (Step step : steps) {
+            inlineContentSize += step.getInlineContentSize();
+        }
+        for (After afterStep : after) {
+            inlineContentSize += afterStep.getInlineContentSize();
+        }
+        return inlineContentSize;
+    }
+
     public String returnTotalDurationString() {
         return RenderingUtils.convertMicrosecondsToTimeString(getTotalDuration());
     }
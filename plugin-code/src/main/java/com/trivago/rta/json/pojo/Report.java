@@ -94,6 +94,25 @@ public class Report {
         this.featureIndex = featureIndex;
     }
 
+    /**
+     * Create a lightweight copy of this report that shares all values but only contains the passed elements.
+     *
+     * @param elements The {@link Element} list of the copy.
+     * @return The {@link Report} copy.
+     */
+    public Report copyWithElements(final List<Element> elements) {
+        Report report = new Report();
+        report.line = line;
+        report.elements = elements;
+        report.name = name;
+        report.description = description;
+        report.id = id;
+        report.keyword = keyword;
+        report.uri = uri;
+        report.featureIndex = featureIndex;
+        return report;
+    }
+
     public long getTotalDuration() {
         long totalDurationMicroseconds = 0;
         for (Element element : elements) {
@@ -23,7 +23,7 @@ import com.trivago.rta.rendering.RenderingUtils;
 public class Result {
 
     private long duration = 0;
-    private String status = Status.UNDEFINED.toString();
+    private Status status = Status.UNDEFINED;
 
     @SerializedName("error_message")
     private String errorMessage = "";
@@ -36,11 +36,11 @@ public class Result {
         this.duration = duration;
     }
 
-    public void setStatus(final String status) {
+    public void setStatus(final Status status) {
         this.status = status;
     }
 
-    public String getStatus() {
+    public Status getStatus() {
         return status;
     }
 
@@ -68,7 +68,7 @@ public class Result {
     public String toString() {
         return "Result{" +
                 "duration=" + duration +
-                ", status='" + status + '\'' +
+                ", status='" + status.getStatusString() + '\'' +
                 ", errorMessage='" + errorMessage + '\'' +
                 '}';
     }
@@ -21,7 +21,7 @@ import com.trivago.rta.constants.Status;
 import java.util.ArrayList;
 import java.util.List;
 
-class ResultMatch {
+public class ResultMatch {
     private Result result;
     private Match match;
 
@@ -60,6 +60,31 @@ class ResultMatch {
         this.output = output;
     }
 
+    /**
+     * Returns the number of characters of output and embedding data that are shown inline in the scenario detail page.
+     * Embeddings that are stored as files are not included.
+     *
+     * @return The inline content size.
+     */
+    public long getInlineContentSize() {
+        long inlineContentSize = 0;
+        if (output != null) {
+            for (String outputLine : output) {
+                inlineContentSize += outputLine != null ? outputLine.length() : 0;
+            }
+        }
+        if (embeddings != null) {
+            for (Embedding embedding : embeddings) {
+                inlineContentSize += embedding.getData() != null ? embedding.getData().length() : 0;
+            }
+        }
+        return inlineContentSize;
+    }
+
+    public boolean hasInlineContent() {
+        return getInlineContentSize() > 0;
+    }
+
     public String getGlueMethodName() {
         return getMatch().getLocation();
     }
@@ -69,7 +94,7 @@ class ResultMatch {
     }
 
     public Status getStatus() {
-        return Status.fromString(getResult().getStatus());
+        return getResult().getStatus();
     }
 
     public boolean isFailed() {
@@ -81,10 +106,11 @@ class ResultMatch {
     }
 
     public boolean isSkipped() {
-        return getStatus() == Status.SKIPPED ||
-                getStatus() == Status.PENDING ||
-                getStatus() == Status.UNDEFINED ||
-                getStatus() == Status.AMBIGUOUS;
+        Status status = getStatus();
+        return status == Status.SKIPPED ||
+                status == Status.PENDING ||
+                status == Status.UNDEFINED ||
+                status == Status.AMBIGUOUS;
     }
 
     @Override
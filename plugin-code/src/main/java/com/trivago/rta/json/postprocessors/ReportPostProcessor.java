@@ -20,6 +20,7 @@ import com.google.gson.Gson;
 import com.google.gson.JsonElement;
 import com.trivago.rta.json.pojo.Element;
 import com.trivago.rta.json.pojo.Report;
+import com.trivago.rta.json.pojo.Step;
 import com.trivago.rta.logging.CluecumberLogger;
 import io.gsonfire.PostProcessor;
 
@@ -28,32 +29,23 @@ import javax.inject.Singleton;
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Merges background steps into their scenarios.
+ * This class is stateless so it can be used by multiple parsing threads at the same time.
+ */
 @Singleton
 public class ReportPostProcessor implements PostProcessor<Report> {
 
     private final CluecumberLogger logger;
-    private List<String> featureUris;
 
     @Inject
     public ReportPostProcessor(final CluecumberLogger logger) {
         this.logger = logger;
-        featureUris = new ArrayList<>();
     }
 
     @Override
     public void postDeserialize(final Report report, final JsonElement jsonElement, final Gson gson) {
         mergeBackgroundScenarios(report);
-        addFeatureIndex(report);
-    }
-
-    private void addFeatureIndex(final Report report) {
-        if (report == null) return;
-
-        String featureName = report.getName();
-        if (!featureUris.contains(featureName)){
-            featureUris.add(featureName);
-        }
-        report.setFeatureIndex(featureUris.indexOf(featureName));
     }
 
     private void mergeBackgroundScenarios(final Report report) {
@@ -65,7 +57,9 @@ public class ReportPostProcessor implements PostProcessor<Report> {
                 currentBackgroundElement = element;
             } else {
                 if (currentBackgroundElement != null) {
-                    element.getSteps().addAll(0, currentBackgroundElement.getSteps());
+                    List<Step> steps = new ArrayList<>(currentBackgroundElement.getSteps());
+                    steps.addAll(element.getSteps());
+                    element.setSteps(steps);
                 }
                 cleanedUpElements.add(element);
             }
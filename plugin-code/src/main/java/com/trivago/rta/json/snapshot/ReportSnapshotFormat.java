@@ -0,0 +1,39 @@
+/*
+ * Copyright 2018 trivago N.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.trivago.rta.json.snapshot;
+
+/**
+ * Shared constants of the binary report snapshot format.
+ * <p>
+ * A snapshot starts with a magic number and a format version, followed by the {@link com.trivago.rta.json.pojo.Report}
+ * array. Numbers are stored as zigzag encoded varints, so small values (line numbers, indexes and most durations)
+ * only take one to four bytes. Strings are stored once in UTF-8 and referenced by their table index afterwards.
+ * Step statuses are stored as the ordinal of their {@link com.trivago.rta.constants.Status} in a single byte.
+ * List sizes and string references are shifted by one, so zero can mark a null value.
+ */
+final class ReportSnapshotFormat {
+
+    static final int MAGIC = 0x43435253;
+    static final int VERSION = 2;
+
+    static final int NULL_REFERENCE = 0;
+    static final int NEW_STRING_REFERENCE = 1;
+    static final int FIRST_STRING_INDEX_REFERENCE = 2;
+
+    private ReportSnapshotFormat() {
+    }
+}
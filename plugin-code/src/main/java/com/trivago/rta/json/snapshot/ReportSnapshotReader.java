@@ -0,0 +1,254 @@
+/*
+ * Copyright 2018 trivago N.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.trivago.rta.json.snapshot;
+
+import com.trivago.rta.constants.Status;
+import com.trivago.rta.json.pojo.After;
+import com.trivago.rta.json.pojo.Argument;
+import com.trivago.rta.json.pojo.Before;
+import com.trivago.rta.json.pojo.Element;
+import com.trivago.rta.json.pojo.Embedding;
+import com.trivago.rta.json.pojo.Match;
+import com.trivago.rta.json.pojo.Report;
+import com.trivago.rta.json.pojo.Result;
+import com.trivago.rta.json.pojo.ResultMatch;
+import com.trivago.rta.json.pojo.Row;
+import com.trivago.rta.json.pojo.Step;
+import com.trivago.rta.json.pojo.Tag;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StreamCorruptedException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads {@link Report} objects from a binary snapshot that was written by {@link ReportSnapshotWriter}.
+ * Repeated strings are read once and shared by all objects that reference them.
+ * A reader holds the string table of one snapshot, so it must only be used once.
+ */
+public class ReportSnapshotReader {
+
+    private static final int MAXIMUM_VARINT_SHIFT = 63;
+    private static final Status[] STATUSES = Status.values();
+
+    private final InputStream inputStream;
+    private final List<String> stringTable = new ArrayList<>();
+
+    /**
+     * @param inputStream The source stream. It should be buffered and is not closed by this class.
+     */
+    public ReportSnapshotReader(final InputStream inputStream) {
+        this.inputStream = inputStream;
+    }
+
+    /**
+     * Read a complete snapshot.
+     *
+     * @return The {@link Report} array (can be null if a null array was written).
+     * @throws IOException Thrown if the snapshot cannot be read or has an unknown format.
+     */
+    public Report[] read() throws IOException {
+        if (readFixedInt() != ReportSnapshotFormat.MAGIC) {
+            throw new StreamCorruptedException("This is no report snapshot.");
+        }
+        long version = readUnsigned();
+        if (version != ReportSnapshotFormat.VERSION) {
+            throw new StreamCorruptedException("Unsupported report snapshot version " + version + ".");
+        }
+        List<Report> reports = readList(this::readReport);
+        return reports == null ? null : reports.toArray(new Report[0]);
+    }
+
+    private Report readReport() throws IOException {
+        Report report = new Report();
+        report.setLine(readInt());
+        report.setName(readString());
+        report.setDescription(readString());
+        report.setId(readString());
+        report.setKeyword(readString());
+        report.setUri(readString());
+        report.setFeatureIndex(readInt());
+        report.setElements(readList(this::readElement));
+        return report;
+    }
+
+    private Element readElement() throws IOException {
+        Element element = new Element();
+        element.setLine(readInt());
+        element.setName(readString());
+        element.setDescription(readString());
+        element.setId(readString());
+        element.setType(readString());
+        element.setKeyword(readString());
+        element.setScenarioIndex(readInt());
+        element.setSourceFingerprint(readString());
+        element.setTags(readList(this::readTag));
+        element.setBefore(readList(() -> readResultMatch(new Before())));
+        element.setSteps(readList(this::readStep));
+        element.setAfter(readList(() -> readResultMatch(new After())));
+        return element;
+    }
+
+    private Tag readTag() throws IOException {
+        Tag tag = new Tag();
+        tag.setName(readString());
+        return tag;
+    }
+
+    private Step readStep() throws IOException {
+        Step step = new Step();
+        step.setLine(readInt());
+        step.setName(readString());
+        step.setKeyword(readString());
+        step.setRows(readList(this::readRow));
+        return readResultMatch(step);
+    }
+
+    private Row readRow() throws IOException {
+        Row row = new Row();
+        row.setCells(readList(this::readString));
+        return row;
+    }
+
+    private <T extends ResultMatch> T readResultMatch(final T resultMatch) throws IOException {
+        Result result = new Result();
+        result.setDuration(readSigned());
+        int statusOrdinal = readByte();
+        if (statusOrdinal >= STATUSES.length) {
+            throw new StreamCorruptedException("Invalid status " + statusOrdinal + ".");
+        }
+        result.setStatus(STATUSES[statusOrdinal]);
+        result.setErrorMessage(readString());
+        resultMatch.setResult(result);
+
+        Match match = new Match();
+        match.setLocation(readString());
+        match.setArguments(readList(this::readArgument));
+        resultMatch.setMatch(match);
+
+        resultMatch.setOutput(readList(this::readString));
+        resultMatch.setEmbeddings(readList(this::readEmbedding));
+        return resultMatch;
+    }
+
+    private Argument readArgument() throws IOException {
+        Argument argument = new Argument();
+        argument.setVal(readString());
+        argument.setOffset(readInt());
+        return argument;
+    }
+
+    private Embedding readEmbedding() throws IOException {
+        Embedding embedding = new Embedding();
+        embedding.setData(readString());
+        embedding.setMimeType(readString());
+        embedding.setFilename(readString());
+        return embedding;
+    }
+
+    private <T> List<T> readList(final ItemReader<T> itemReader) throws IOException {
+        long size = readUnsigned();
+        if (size == ReportSnapshotFormat.NULL_REFERENCE) {
+            return null;
+        }
+        // The size is not used to pre-size the list so a corrupt snapshot cannot allocate huge arrays.
+        List<T> list = new ArrayList<>();
+        for (long i = 1; i < size; i++) {
+            list.add(itemReader.read());
+        }
+        return list;
+    }
+
+    private String readString() throws IOException {
+        long reference = readUnsigned();
+        if (reference == ReportSnapshotFormat.NULL_REFERENCE) {
+            return null;
+        }
+        if (reference == ReportSnapshotFormat.NEW_STRING_REFERENCE) {
+            long length = readUnsigned();
+            if (length > Integer.MAX_VALUE - 8) {
+                throw new StreamCorruptedException("Invalid string length " + length + ".");
+            }
+            byte[] bytes = new byte[(int) length];
+            readFully(bytes);
+            String string = new String(bytes, StandardCharsets.UTF_8);
+            stringTable.add(string);
+            return string;
+        }
+        long index = reference - ReportSnapshotFormat.FIRST_STRING_INDEX_REFERENCE;
+        if (index >= stringTable.size()) {
+            throw new StreamCorruptedException("Invalid string reference " + reference + ".");
+        }
+        return stringTable.get((int) index);
+    }
+
+    private int readInt() throws IOException {
+        long value = readSigned();
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new StreamCorruptedException("Invalid int value " + value + ".");
+        }
+        return (int) value;
+    }
+
+    private long readSigned() throws IOException {
+        long value = readUnsigned();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private long readUnsigned() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift <= MAXIMUM_VARINT_SHIFT; shift += 7) {
+            int currentByte = readByte();
+            value |= (long) (currentByte & 0x7F) << shift;
+            if ((currentByte & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new StreamCorruptedException("Invalid varint.");
+    }
+
+    private int readFixedInt() throws IOException {
+        return (readByte() << 24) | (readByte() << 16) | (readByte() << 8) | readByte();
+    }
+
+    private int readByte() throws IOException {
+        int value = inputStream.read();
+        if (value < 0) {
+            throw new EOFException("Unexpected end of report snapshot.");
+        }
+        return value;
+    }
+
+    private void readFully(final byte[] bytes) throws IOException {
+        int offset = 0;
+        while (offset < bytes.length) {
+            int count = inputStream.read(bytes, offset, bytes.length - offset);
+            if (count < 0) {
+                throw new EOFException("Unexpected end of report snapshot.");
+            }
+            offset += count;
+        }
+    }
+
+    @FunctionalInterface
+    private interface ItemReader<T> {
+        T read() throws IOException;
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2018 trivago N.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.trivago.rta.json.snapshot;
+
+import com.trivago.rta.json.pojo.Argument;
+import com.trivago.rta.json.pojo.Element;
+import com.trivago.rta.json.pojo.Embedding;
+import com.trivago.rta.json.pojo.Match;
+import com.trivago.rta.json.pojo.Report;
+import com.trivago.rta.json.pojo.Result;
+import com.trivago.rta.json.pojo.ResultMatch;
+import com.trivago.rta.json.pojo.Row;
+import com.trivago.rta.json.pojo.Step;
+import com.trivago.rta.json.pojo.Tag;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes post processed {@link Report} objects as a binary snapshot (see {@link ReportSnapshotFormat}).
+ * Derived data like scenario and feature indexes and attachment filenames is included.
+ * A writer holds the string table of one snapshot, so it must only be used once.
+ */
+public class ReportSnapshotWriter {
+
+    private final OutputStream outputStream;
+    private final Map<String, Integer> stringTable = new HashMap<>();
+
+    /**
+     * @param outputStream The target stream. It should be buffered and is not closed by this class.
+     */
+    public ReportSnapshotWriter(final OutputStream outputStream) {
+        this.outputStream = outputStream;
+    }
+
+    /**
+     * Write a complete snapshot.
+     *
+     * @param reports The {@link Report} array (can be null).
+     * @throws IOException Thrown if the snapshot cannot be written.
+     */
+    public void write(final Report[] reports) throws IOException {
+        writeFixedInt(ReportSnapshotFormat.MAGIC);
+        writeUnsigned(ReportSnapshotFormat.VERSION);
+        writeList(reports == null ? null : Arrays.asList(reports), this::writeReport);
+        outputStream.flush();
+    }
+
+    private void writeReport(final Report report) throws IOException {
+        writeSigned(report.getLine());
+        writeString(report.getName());
+        writeString(report.getDescription());
+        writeString(report.getId());
+        writeString(report.getKeyword());
+        writeString(report.getUri());
+        writeSigned(report.getFeatureIndex());
+        writeList(report.getElements(), this::writeElement);
+    }
+
+    private void writeElement(final Element element) throws IOException {
+        writeSigned(element.getLine());
+        writeString(element.getName());
+        writeString(element.getDescription());
+        writeString(element.getId());
+        writeString(element.getType());
+        writeString(element.getKeyword());
+        writeSigned(element.getScenarioIndex());
+        writeString(element.getSourceFingerprint());
+        writeList(element.getTags(), this::writeTag);
+        writeList(element.getBefore(), this::writeResultMatch);
+        writeList(element.getSteps(), this::writeStep);
+        writeList(element.getAfter(), this::writeResultMatch);
+    }
+
+    private void writeTag(final Tag tag) throws IOException {
+        writeString(tag.getName());
+    }
+
+    private void writeStep(final Step step) throws IOException {
+        writeSigned(step.getLine());
+        writeString(step.getName());
+        writeString(step.getKeyword());
+        writeList(step.getRows(), this::writeRow);
+        writeResultMatch(step);
+    }
+
+    private void writeRow(final Row row) throws IOException {
+        writeList(row.getCells(), this::writeString);
+    }
+
+    private void writeResultMatch(final ResultMatch resultMatch) throws IOException {
+        Result result = resultMatch.getResult();
+        writeSigned(result.getDuration());
+        outputStream.write(result.getStatus().ordinal());
+        writeString(result.getErrorMessage());
+
+        Match match = resultMatch.getMatch();
+        writeString(match.getLocation());
+        writeList(match.getArguments(), this::writeArgument);
+
+        writeList(resultMatch.getOutput(), this::writeString);
+        writeList(resultMatch.getEmbeddings(), this::writeEmbedding);
+    }
+
+    private void writeArgument(final Argument argument) throws IOException {
+        writeString(argument.getVal());
+        writeSigned(argument.getOffset());
+    }
+
+    private void writeEmbedding(final Embedding embedding) throws IOException {
+        writeString(embedding.getData());
+        writeString(embedding.getMimeType());
+        writeString(embedding.getFilename());
+    }
+
+    private <T> void writeList(final List<T> list, final ItemWriter<T> itemWriter) throws IOException {
+        if (list == null) {
+            writeUnsigned(ReportSnapshotFormat.NULL_REFERENCE);
+            return;
+        }
+        writeUnsigned(list.size() + 1L);
+        for (T item : list) {
+            itemWriter.write(item);
+        }
+    }
+
+    /**
+     * Write a string reference. A string that was not written before is added to the string table
+     * and written in UTF-8 directly after its reference.
+     *
+     * @param string The string (can be null).
+     * @throws IOException Thrown if the string cannot be written.
+     */
+    private void writeString(final String string) throws IOException {
+        if (string == null) {
+            writeUnsigned(ReportSnapshotFormat.NULL_REFERENCE);
+            return;
+        }
+        Integer index = stringTable.get(string);
+        if (index != null) {
+            writeUnsigned(index + (long) ReportSnapshotFormat.FIRST_STRING_INDEX_REFERENCE);
+            return;
+        }
+        stringTable.put(string, stringTable.size());
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        writeUnsigned(ReportSnapshotFormat.NEW_STRING_REFERENCE);
+        writeUnsigned(bytes.length);
+        outputStream.write(bytes);
+    }
+
+    private void writeSigned(final long value) throws IOException {
+        writeUnsigned((value << 1) ^ (value >> 63));
+    }
+
+    private void writeUnsigned(final long value) throws IOException {
+        long remaining = value;
+        while ((remaining & ~0x7FL) != 0) {
+            outputStream.write((int) ((remaining & 0x7F) | 0x80));
+            remaining >>>= 7;
+        }
+        outputStream.write((int) remaining);
+    }
+
+    private void writeFixedInt(final int value) throws IOException {
+        outputStream.write(value >>> 24);
+        outputStream.write(value >>> 16);
+        outputStream.write(value >>> 8);
+        outputStream.write(value);
+    }
+
+    @FunctionalInterface
+    private interface ItemWriter<T> {
+        void write(T item) throws IOException;
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2018 trivago N.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.trivago.rta.json.typeadapters;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.trivago.rta.filesystem.AttachmentWriter;
+import com.trivago.rta.json.pojo.Embedding;
+
+import java.io.IOException;
+
+/**
+ * Deserializes {@link Embedding} objects and writes image attachments and large embeddings straight to the
+ * attachment directory, so their content is never kept in the parsed reports.
+ * Attachment filenames only depend on their content, so a single instance can be shared by all parsing threads.
+ */
+public class EmbeddingTypeAdapter extends TypeAdapter<Embedding> {
+
+    private final AttachmentWriter attachmentWriter;
+
+    /**
+     * Constructor.
+     *
+     * @param attachmentWriter The {@link AttachmentWriter} for image attachments.
+     */
+    public EmbeddingTypeAdapter(final AttachmentWriter attachmentWriter) {
+        this.attachmentWriter = attachmentWriter;
+    }
+
+    @Override
+    public void write(final JsonWriter jsonWriter, final Embedding embedding) throws IOException {
+        if (embedding == null) {
+            jsonWriter.nullValue();
+            return;
+        }
+        jsonWriter.beginObject();
+        jsonWriter.name("data").value(embedding.getData());
+        jsonWriter.name("mime_type").value(embedding.getMimeType());
+        jsonWriter.endObject();
+    }
+
+    @Override
+    public Embedding read(final JsonReader jsonReader) throws IOException {
+        if (jsonReader.peek() == JsonToken.NULL) {
+            jsonReader.nextNull();
+            return null;
+        }
+
+        Embedding embedding = new Embedding();
+        String data = null;
+
+        // The mime type can appear after the data, so the data token is kept until the object is complete.
+        jsonReader.beginObject();
+        while (jsonReader.hasNext()) {
+            switch (jsonReader.nextName()) {
+                case "data":
+                    data = jsonReader.nextString();
+                    break;
+                case "mime_type":
+                    embedding.setMimeType(jsonReader.nextString());
+                    break;
+                default:
+                    jsonReader.skipValue();
+            }
+        }
+        jsonReader.endObject();
+
+        if (data != null && attachmentWriter.isWrittenToFile(embedding, data)) {
+            embedding.setFilename(attachmentWriter.writeBase64Attachment(data, embedding.getMimeType()));
+            if (embedding.getFilename() == null && !embedding.isImage()) {
+                // Other embeddings can still be shown inline if they cannot be stored.
+                embedding.setData(data);
+            }
+        } else {
+            embedding.setData(data);
+        }
+        return embedding;
+    }
+}
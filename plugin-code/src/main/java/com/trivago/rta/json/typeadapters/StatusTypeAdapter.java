@@ -0,0 +1,68 @@
+/*
+ * Copyright 2018 trivago N.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.trivago.rta.json.typeadapters;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.trivago.rta.constants.Status;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Converts Cucumber status strings (like "passed") to {@link Status} values once while parsing,
+ * so step and scenario statuses can be compared without parsing strings again.
+ * Missing and unknown statuses are treated as {@link Status#UNDEFINED}.
+ * The status lookup is only read after construction, so one adapter is shared by all parsing threads.
+ */
+public class StatusTypeAdapter extends TypeAdapter<Status> {
+
+    private final Map<String, Status> statusesByString = new HashMap<>();
+
+    public StatusTypeAdapter() {
+        for (Status status : Status.values()) {
+            statusesByString.put(status.getStatusString(), status);
+        }
+    }
+
+    @Override
+    public void write(final JsonWriter jsonWriter, final Status status) throws IOException {
+        if (status == null) {
+            jsonWriter.nullValue();
+            return;
+        }
+        jsonWriter.value(status.getStatusString());
+    }
+
+    @Override
+    public Status read(final JsonReader jsonReader) throws IOException {
+        if (jsonReader.peek() == JsonToken.NULL) {
+            jsonReader.nextNull();
+            return Status.UNDEFINED;
+        }
+        String statusString = jsonReader.nextString();
+        Status status = statusesByString.get(statusString);
+        if (status == null) {
+            status = statusesByString.get(statusString.toLowerCase(Locale.ENGLISH));
+        }
+        return status != null ? status : Status.UNDEFINED;
+    }
+}
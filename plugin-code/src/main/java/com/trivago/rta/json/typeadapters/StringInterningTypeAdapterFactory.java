@@ -0,0 +1,102 @@
+/*
+ * Copyright 2018 trivago N.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.trivago.rta.json.typeadapters;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Replaces parsed strings by canonical instances, so repeated step keywords, glue locations, tag names, statuses and
+ * background step names share one {@link String} instead of one per occurrence.
+ * <p>
+ * Only short strings are interned since long texts like outputs and error messages rarely repeat.
+ * The intern table is bounded; once it is full, new strings are kept as they are.
+ * The table is thread safe, so one instance can be shared by all parsing threads.
+ */
+public class StringInterningTypeAdapterFactory implements TypeAdapterFactory {
+
+    private static final int DEFAULT_MAXIMUM_LENGTH = 256;
+    private static final int DEFAULT_MAXIMUM_ENTRIES = 100000;
+
+    private final int maximumLength;
+    private final int maximumEntries;
+    private final Map<String, String> internTable = new ConcurrentHashMap<>();
+
+    public StringInterningTypeAdapterFactory() {
+        this(DEFAULT_MAXIMUM_LENGTH, DEFAULT_MAXIMUM_ENTRIES);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param maximumLength  The maximum length of strings that are interned.
+     * @param maximumEntries The maximum number of strings in the intern table.
+     */
+    StringInterningTypeAdapterFactory(final int maximumLength, final int maximumEntries) {
+        this.maximumLength = maximumLength;
+        this.maximumEntries = maximumEntries;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(final Gson gson, final TypeToken<T> type) {
+        if (type.getRawType() != String.class) {
+            return null;
+        }
+        TypeAdapter<String> delegate = (TypeAdapter<String>) gson.getDelegateAdapter(this, type);
+        return (TypeAdapter<T>) new TypeAdapter<String>() {
+            @Override
+            public void write(final JsonWriter jsonWriter, final String value) throws IOException {
+                delegate.write(jsonWriter, value);
+            }
+
+            @Override
+            public String read(final JsonReader jsonReader) throws IOException {
+                return intern(delegate.read(jsonReader));
+            }
+        };
+    }
+
+    /**
+     * Returns the canonical instance of a string.
+     *
+     * @param value The string (can be null).
+     * @return The canonical instance or the string itself if it is too long or the intern table is full.
+     */
+    String intern(final String value) {
+        if (value == null || value.length() > maximumLength) {
+            return value;
+        }
+        String canonicalValue = internTable.get(value);
+        if (canonicalValue != null) {
+            return canonicalValue;
+        }
+        if (internTable.size() >= maximumEntries) {
+            return value;
+        }
+        canonicalValue = internTable.putIfAbsent(value, value);
+        return canonicalValue != null ? canonicalValue : value;
+    }
+}
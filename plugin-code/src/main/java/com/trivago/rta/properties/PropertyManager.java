@@ -32,6 +32,16 @@ public class PropertyManager {
     private String sourceJsonReportDirectory;
     private String generatedHtmlReportDirectory;
     private Map<String, String> customParameters;
+    private int parsingThreads;
+    private int renderingThreads;
+    private int attachmentWriterThreads;
+    private int attachmentWriterMemory;
+    private int embeddingSizeThreshold;
+    private int lazyContentThreshold;
+    private boolean prettifyHtml;
+    private boolean deferredRendering;
+    private boolean incrementalGeneration;
+    private String sharedAssetDirectory = "";
 
     @Inject
     public PropertyManager(final CluecumberLogger logger) {
@@ -62,6 +72,90 @@ public class PropertyManager {
         this.customParameters = customParameters;
     }
 
+    public int getParsingThreads() {
+        return parsingThreads;
+    }
+
+    public void setParsingThreads(final int parsingThreads) {
+        this.parsingThreads = parsingThreads;
+    }
+
+    public int getRenderingThreads() {
+        return renderingThreads;
+    }
+
+    public void setRenderingThreads(final int renderingThreads) {
+        this.renderingThreads = renderingThreads;
+    }
+
+    public int getAttachmentWriterThreads() {
+        return attachmentWriterThreads;
+    }
+
+    public void setAttachmentWriterThreads(final int attachmentWriterThreads) {
+        this.attachmentWriterThreads = attachmentWriterThreads;
+    }
+
+    public int getAttachmentWriterMemory() {
+        return attachmentWriterMemory;
+    }
+
+    public void setAttachmentWriterMemory(final int attachmentWriterMemory) {
+        this.attachmentWriterMemory = attachmentWriterMemory;
+    }
+
+    public int getEmbeddingSizeThreshold() {
+        return embeddingSizeThreshold;
+    }
+
+    public void setEmbeddingSizeThreshold(final int embeddingSizeThreshold) {
+        this.embeddingSizeThreshold = embeddingSizeThreshold;
+    }
+
+    public int getLazyContentThreshold() {
+        return lazyContentThreshold;
+    }
+
+    public void setLazyContentThreshold(final int lazyContentThreshold) {
+        this.lazyContentThreshold = lazyContentThreshold;
+    }
+
+    public boolean isPrettifyHtml() {
+        return prettifyHtml;
+    }
+
+    public void setPrettifyHtml(final boolean prettifyHtml) {
+        this.prettifyHtml = prettifyHtml;
+    }
+
+    public boolean isDeferredRendering() {
+        return deferredRendering;
+    }
+
+    public void setDeferredRendering(final boolean deferredRendering) {
+        this.deferredRendering = deferredRendering;
+    }
+
+    public boolean isIncrementalGeneration() {
+        return incrementalGeneration;
+    }
+
+    public void setIncrementalGeneration(final boolean incrementalGeneration) {
+        this.incrementalGeneration = incrementalGeneration;
+    }
+
+    public String getSharedAssetDirectory() {
+        return sharedAssetDirectory;
+    }
+
+    public void setSharedAssetDirectory(final String sharedAssetDirectory) {
+        this.sharedAssetDirectory = sharedAssetDirectory == null ? "" : sharedAssetDirectory.trim();
+    }
+
+    public boolean hasSharedAssetDirectory() {
+        return !sharedAssetDirectory.isEmpty();
+    }
+
     /**
      * Checks the pom settings for the plugin.
      *
@@ -74,6 +168,18 @@ public class PropertyManager {
             missingProperty = "sourceJsonReportDirectory";
         } else if (generatedHtmlReportDirectory == null || generatedHtmlReportDirectory.equals("")) {
             missingProperty = "generatedHtmlReportDirectory";
+        } else if (parsingThreads < 1) {
+            missingProperty = "parsingThreads";
+        } else if (renderingThreads < 1) {
+            missingProperty = "renderingThreads";
+        } else if (attachmentWriterThreads < 0) {
+            missingProperty = "attachmentWriterThreads";
+        } else if (attachmentWriterThreads > 0 && attachmentWriterMemory < 1) {
+            missingProperty = "attachmentWriterMemory";
+        } else if (embeddingSizeThreshold < 0) {
+            missingProperty = "embeddingSizeThreshold";
+        } else if (lazyContentThreshold < 0) {
+            missingProperty = "lazyContentThreshold";
         }
 
         if (missingProperty != null) {
@@ -84,6 +190,20 @@ public class PropertyManager {
     public void logProperties() {
         logger.info("- sourceJsonReportDirectory     : " + sourceJsonReportDirectory);
         logger.info("- generatedHtmlReportDirectory  : " + generatedHtmlReportDirectory);
+        logger.info("- parsingThreads                : " + parsingThreads);
+        logger.info("- renderingThreads              : " + renderingThreads);
+        logger.info("- attachmentWriterThreads       : " + attachmentWriterThreads);
+        if (attachmentWriterThreads > 0) {
+            logger.info("- attachmentWriterMemory        : " + attachmentWriterMemory + " MB");
+        }
+        logger.info("- embeddingSizeThreshold        : " + embeddingSizeThreshold + " KB");
+        logger.info("- lazyContentThreshold          : " + lazyContentThreshold + " KB");
+        logger.info("- prettifyHtml                  : " + prettifyHtml);
+        logger.info("- deferredRendering             : " + deferredRendering);
+        logger.info("- incrementalGeneration         : " + incrementalGeneration);
+        if (hasSharedAssetDirectory()) {
+            logger.info("- sharedAssetDirectory          : " + sharedAssetDirectory);
+        }
         if (customParameters != null && !customParameters.isEmpty()) {
             for (Map.Entry<String, String> entry : customParameters.entrySet()) {
                 logger.info("- custom parameter              : " +
@@ -0,0 +1,228 @@
+/*
+ * Copyright 2018 trivago N.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.trivago.rta.rendering;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Writer that re-indents HTML line by line while it is streamed to the wrapped writer.
+ * Leading whitespace and empty lines are removed and every line is indented by its element depth.
+ * The content of pre, textarea, script and style elements, comments and lines that continue
+ * a quoted attribute value are passed through unchanged.
+ */
+public class HtmlIndentingWriter extends Writer {
+    private static final String INDENTATION = "  ";
+    private static final Set<String> VOID_ELEMENTS = new HashSet<>(Arrays.asList(
+            "area", "base", "br", "col", "embed", "hr", "img", "input", "link", "meta", "param", "source", "track", "wbr"
+    ));
+    private static final Set<String> RAW_TEXT_ELEMENTS = new HashSet<>(Arrays.asList(
+            "pre", "textarea", "script", "style"
+    ));
+
+    private final Writer out;
+    private final StringBuilder line = new StringBuilder();
+
+    private int depth;
+    private boolean inTag;
+    private boolean closingTag;
+    private boolean tagNameComplete;
+    private final StringBuilder tagName = new StringBuilder();
+    private char quote;
+    private char previousChar;
+    private boolean inComment;
+    private int commentDashes;
+    private String rawTextElement;
+    private final StringBuilder rawTextEnd = new StringBuilder();
+
+    public HtmlIndentingWriter(final Writer out) {
+        this.out = out;
+    }
+
+    @Override
+    public void write(final char[] cbuf, final int off, final int len) throws IOException {
+        for (int i = off; i < off + len; i++) {
+            char c = cbuf[i];
+            if (c == '\n') {
+                writeLine(true);
+            } else if (c != '\r') {
+                line.append(c);
+            }
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    /**
+     * Write the last pending line and flush the wrapped writer without closing it.
+     *
+     * @throws IOException Thrown if the wrapped writer fails.
+     */
+    public void finish() throws IOException {
+        writeLine(false);
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        finish();
+        out.close();
+    }
+
+    private void writeLine(final boolean lineBreak) throws IOException {
+        if (rawTextElement != null || inComment || (inTag && quote != 0)) {
+            out.append(line);
+            scan(line);
+        } else {
+            int start = 0;
+            while (start < line.length() && Character.isWhitespace(line.charAt(start))) {
+                start++;
+            }
+            if (start == line.length()) {
+                line.setLength(0);
+                return;
+            }
+            boolean startsWithClosingTag = !inTag && start + 1 < line.length() &&
+                    line.charAt(start) == '<' && line.charAt(start + 1) == '/';
+            int indentationDepth = startsWithClosingTag ? Math.max(0, depth - 1) : depth;
+            for (int i = 0; i < indentationDepth; i++) {
+                out.write(INDENTATION);
+            }
+            CharSequence content = line.subSequence(start, line.length());
+            out.append(content);
+            scan(content);
+        }
+        if (lineBreak) {
+            out.write('\n');
+        }
+        line.setLength(0);
+    }
+
+    /**
+     * Track the element depth and the raw text, comment and tag states of the written content.
+     *
+     * @param content The content of one line.
+     */
+    private void scan(final CharSequence content) {
+        for (int i = 0; i < content.length(); i++) {
+            char c = content.charAt(i);
+            if (rawTextElement != null) {
+                scanRawText(c);
+            } else if (inComment) {
+                scanComment(c);
+            } else if (inTag) {
+                scanTag(c);
+            } else if (c == '<') {
+                startTag();
+            }
+            previousChar = c;
+        }
+    }
+
+    private void scanComment(final char c) {
+        if (c == '-') {
+            commentDashes++;
+        } else {
+            inComment = c != '>' || commentDashes < 2;
+            commentDashes = 0;
+        }
+    }
+
+    private void startTag() {
+        inTag = true;
+        closingTag = false;
+        tagNameComplete = false;
+        tagName.setLength(0);
+        quote = 0;
+    }
+
+    private void scanTag(final char c) {
+        if (quote != 0) {
+            if (c == quote) {
+                quote = 0;
+            }
+            return;
+        }
+        if (!tagNameComplete) {
+            if (c == '/' && tagName.length() == 0 && !closingTag) {
+                closingTag = true;
+                return;
+            }
+            if (!Character.isWhitespace(c) && c != '>' && c != '/') {
+                tagName.append(c);
+                if (tagName.length() == 3 && tagName.toString().equals("!--")) {
+                    inTag = false;
+                    inComment = true;
+                    commentDashes = 0;
+                }
+                return;
+            }
+            tagNameComplete = true;
+        }
+        if (c == '"' || c == '\'') {
+            quote = c;
+        } else if (c == '>') {
+            endTag();
+        }
+    }
+
+    private void endTag() {
+        inTag = false;
+        String name = tagName.toString().toLowerCase(Locale.ENGLISH);
+        if (name.isEmpty() || name.startsWith("!") || name.startsWith("?")) {
+            return;
+        }
+        if (closingTag) {
+            depth = Math.max(0, depth - 1);
+        } else if (previousChar != '/' && !VOID_ELEMENTS.contains(name)) {
+            depth++;
+            if (RAW_TEXT_ELEMENTS.contains(name)) {
+                rawTextElement = name;
+                rawTextEnd.setLength(0);
+            }
+        }
+    }
+
+    /**
+     * Look for the end tag of the current raw text element.
+     *
+     * @param c The next character.
+     */
+    private void scanRawText(final char c) {
+        rawTextEnd.append(Character.toLowerCase(c));
+        String endTag = "</" + rawTextElement;
+        if (rawTextEnd.length() > endTag.length()) {
+            rawTextEnd.deleteCharAt(0);
+        }
+        if (rawTextEnd.toString().equals(endTag)) {
+            rawTextElement = null;
+            inTag = true;
+            closingTag = true;
+            tagNameComplete = false;
+            tagName.setLength(0);
+            tagName.append(endTag.substring(2));
+            quote = 0;
+        }
+    }
+}
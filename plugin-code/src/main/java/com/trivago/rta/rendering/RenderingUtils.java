@@ -16,8 +16,6 @@
 
 package com.trivago.rta.rendering;
 
-import org.jsoup.Jsoup;
-
 import java.time.Duration;
 
 public class RenderingUtils {
@@ -47,16 +45,6 @@ public class RenderingUtils {
         return Duration.ofMillis(microseconds / MICROSECOND_FACTOR).toMillis();
     }
 
-    /**
-     * Returns prettified HTML
-     *
-     * @param html The source html.
-     * @return The prettified HTML.
-     */
-    static String prettifyHtml(String html) {
-        return Jsoup.parse(html).toString().trim();
-    }
-
     /**
      * Return the current Cluecumber version.
      *
@@ -18,14 +18,20 @@ package com.trivago.rta.rendering;
 
 import com.trivago.rta.constants.PluginSettings;
 import com.trivago.rta.exceptions.CluecumberPluginException;
+import com.trivago.rta.exceptions.filesystem.FileCreationException;
+import com.trivago.rta.filesystem.AssetExporter;
 import com.trivago.rta.filesystem.FileIO;
 import com.trivago.rta.filesystem.FileSystemManager;
+import com.trivago.rta.incremental.ReportManifest;
+import com.trivago.rta.json.FeatureRegistry;
 import com.trivago.rta.json.pojo.Element;
 import com.trivago.rta.json.pojo.Report;
+import com.trivago.rta.json.pojo.ResultMatch;
 import com.trivago.rta.json.pojo.Tag;
 import com.trivago.rta.logging.CluecumberLogger;
 import com.trivago.rta.properties.PropertyManager;
 import com.trivago.rta.rendering.pages.pojos.Feature;
+import com.trivago.rta.rendering.pages.pojos.pagecollections.DetailFragmentPageCollection;
 import com.trivago.rta.rendering.pages.pojos.pagecollections.DetailPageCollection;
 import com.trivago.rta.rendering.pages.pojos.pagecollections.FeatureSummaryPageCollection;
 import com.trivago.rta.rendering.pages.pojos.pagecollections.ScenarioSummaryPageCollection;
@@ -33,14 +39,51 @@ import com.trivago.rta.rendering.pages.pojos.pagecollections.TagSummaryPageColle
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
 
 @Singleton
 public class ReportGenerator {
 
+    private static final long BYTES_PER_KILOBYTE = 1024;
+    private static final String BEFORE_FRAGMENT = "before_";
+    private static final String STEP_FRAGMENT = "step_";
+    private static final String AFTER_FRAGMENT = "after_";
+
+    private static final List<String> REPORT_ASSETS = Arrays.asList(
+            // CSS resources
+            "/css/bootstrap.min.css",
+            "/css/cluecumber.css",
+            "/css/datatables.min.css",
+            "/css/jquery.fancybox.min.css",
+            "/css/dataTables.bootstrap4.min.css",
+            // Javascript resources
+            "/js/jquery.min.js",
+            "/js/bootstrap.min.js",
+            "/js/popper.min.js",
+            "/js/Chart.bundle.min.js",
+            "/js/datatables.min.js",
+            "/js/jquery.fancybox.min.js"
+    );
+
     private TemplateEngine templateEngine;
     private FileIO fileIO;
     private PropertyManager propertyManager;
     private FileSystemManager fileSystemManager;
+    private AssetExporter assetExporter;
+    private FeatureRegistry featureRegistry;
+    private ReportManifest reportManifest;
     private CluecumberLogger logger;
 
     @Inject
@@ -49,88 +92,228 @@ public class ReportGenerator {
             final FileIO fileIO,
             final PropertyManager propertyManager,
             final FileSystemManager fileSystemManager,
+            final AssetExporter assetExporter,
+            final FeatureRegistry featureRegistry,
+            final ReportManifest reportManifest,
             final CluecumberLogger logger
     ) {
         this.templateEngine = templateEngine;
         this.fileIO = fileIO;
         this.propertyManager = propertyManager;
         this.fileSystemManager = fileSystemManager;
+        this.assetExporter = assetExporter;
+        this.featureRegistry = featureRegistry;
+        this.reportManifest = reportManifest;
         this.logger = logger;
     }
 
     public void generateReport(final ScenarioSummaryPageCollection scenarioSummaryPageCollection) throws CluecumberPluginException {
         copyReportAssets();
-        generateScenarioDetailPages(scenarioSummaryPageCollection);
-        generateFeaturePages(scenarioSummaryPageCollection);
-        generateTagPages(scenarioSummaryPageCollection);
+        templateEngine.setDeferredRendering(propertyManager.isDeferredRendering());
+
+        List<PageWriter> pageWriters = new ArrayList<>();
+        if (propertyManager.isDeferredRendering()) {
+            pageWriters.add(() -> writeScenarioSummaryData(
+                    propertyManager.getGeneratedHtmlReportDirectory() + "/" + PluginSettings.SCENARIO_SUMMARY_PAGE_PATH,
+                    scenarioSummaryPageCollection,
+                    () -> reportManifest.getFingerprint(scenarioSummaryPageCollection.getReports())));
+        }
+        addScenarioDetailPages(pageWriters, scenarioSummaryPageCollection);
+        addFeaturePages(pageWriters, scenarioSummaryPageCollection);
+        addTagPages(pageWriters, scenarioSummaryPageCollection);
+        writePages(pageWriters);
+
+        // The start page changes the report details of the passed collection, so it is written last.
         generateScenarioSummaryPage(scenarioSummaryPageCollection);
     }
 
     /**
-     * Generate pages for features.
+     * Render and write independent pages concurrently.
+     * The first failing page stops the rendering of all pages that are not yet finished.
+     *
+     * @param pageWriters The {@link PageWriter} list.
+     * @throws CluecumberPluginException The {@link CluecumberPluginException} of the first failing page.
+     */
+    private void writePages(final List<PageWriter> pageWriters) throws CluecumberPluginException {
+        if (pageWriters.isEmpty()) {
+            return;
+        }
+
+        int threads = Math.min(propertyManager.getRenderingThreads(), pageWriters.size());
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        CompletionService<Void> completionService = new ExecutorCompletionService<>(executorService);
+        try {
+            for (PageWriter pageWriter : pageWriters) {
+                completionService.submit(() -> {
+                    pageWriter.write();
+                    return null;
+                });
+            }
+            for (int i = 0; i < pageWriters.size(); i++) {
+                completionService.take().get();
+            }
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof CluecumberPluginException) {
+                throw (CluecumberPluginException) cause;
+            }
+            throw new CluecumberPluginException("Could not render page: " + cause.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CluecumberPluginException("Page rendering was interrupted.");
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * Add pages for features.
      *
+     * @param pageWriters                   The {@link PageWriter} list.
      * @param scenarioSummaryPageCollection The {@link ScenarioSummaryPageCollection}.
-     * @throws CluecumberPluginException The {@link CluecumberPluginException}.
      */
-    private void generateFeaturePages(final ScenarioSummaryPageCollection scenarioSummaryPageCollection) throws CluecumberPluginException {
+    private void addFeaturePages(
+            final List<PageWriter> pageWriters, final ScenarioSummaryPageCollection scenarioSummaryPageCollection) {
         // Feature summary page
-        FeatureSummaryPageCollection featureSummaryPageCollection = new FeatureSummaryPageCollection(scenarioSummaryPageCollection.getReports());
-        fileIO.writeContentToFile(
-                templateEngine.getRenderedFeatureSummaryPageContent(featureSummaryPageCollection),
+        FeatureSummaryPageCollection featureSummaryPageCollection = new FeatureSummaryPageCollection(scenarioSummaryPageCollection, featureRegistry);
+        pageWriters.add(() -> writePage(
                 propertyManager.getGeneratedHtmlReportDirectory() + "/" + PluginSettings.PAGES_DIRECTORY + "/" +
-                        PluginSettings.FEATURE_SUMMARY_PAGE_PATH + PluginSettings.HTML_FILE_EXTENSION);
+                PluginSettings.FEATURE_SUMMARY_PAGE_PATH + PluginSettings.HTML_FILE_EXTENSION,
+                () -> reportManifest.getFingerprint(scenarioSummaryPageCollection.getReports()),
+                writer -> templateEngine.renderFeatureSummaryPageContent(featureSummaryPageCollection, writer)));
 
         // Feature scenario list pages
         for (Feature feature : featureSummaryPageCollection.getFeatures()) {
-            fileIO.writeContentToFile(
-                    templateEngine.getRenderedScenarioSummaryPageContentByFeatureFilter(scenarioSummaryPageCollection, feature),
-                    propertyManager.getGeneratedHtmlReportDirectory() + "/" +
-                            PluginSettings.PAGES_DIRECTORY + PluginSettings.FEATURE_SCENARIOS_PAGE_FRAGMENT +
-                            feature.getIndex() + PluginSettings.HTML_FILE_EXTENSION);
+            String featurePagePath = propertyManager.getGeneratedHtmlReportDirectory() + "/" +
+                    PluginSettings.PAGES_DIRECTORY + PluginSettings.FEATURE_SCENARIOS_PAGE_FRAGMENT + feature.getIndex();
+            pageWriters.add(() -> writeFilteredScenarioSummaryPage(
+                    featurePagePath, scenarioSummaryPageCollection.getFeatureFilteredView(feature)));
         }
     }
 
     /**
-     * Generate pages for tags.
+     * Add pages for tags.
      *
+     * @param pageWriters                   The {@link PageWriter} list.
      * @param scenarioSummaryPageCollection The {@link ScenarioSummaryPageCollection}.
-     * @throws CluecumberPluginException The {@link CluecumberPluginException}.
      */
-    private void generateTagPages(final ScenarioSummaryPageCollection scenarioSummaryPageCollection) throws CluecumberPluginException {
+    private void addTagPages(
+            final List<PageWriter> pageWriters, final ScenarioSummaryPageCollection scenarioSummaryPageCollection) {
         // Tag summary page
-        TagSummaryPageCollection tagSummaryPageCollection = new TagSummaryPageCollection(scenarioSummaryPageCollection.getReports());
-        fileIO.writeContentToFile(
-                templateEngine.getRenderedTagSummaryPageContent(tagSummaryPageCollection),
+        TagSummaryPageCollection tagSummaryPageCollection = new TagSummaryPageCollection(scenarioSummaryPageCollection);
+        pageWriters.add(() -> writePage(
                 propertyManager.getGeneratedHtmlReportDirectory() + "/" + PluginSettings.PAGES_DIRECTORY + "/" +
-                        PluginSettings.TAG_SUMMARY_PAGE_PATH + PluginSettings.HTML_FILE_EXTENSION);
+                PluginSettings.TAG_SUMMARY_PAGE_PATH + PluginSettings.HTML_FILE_EXTENSION,
+                () -> reportManifest.getFingerprint(scenarioSummaryPageCollection.getReports()),
+                writer -> templateEngine.renderTagSummaryPageContent(tagSummaryPageCollection, writer)));
 
         // Tag scenario list pages
         for (Tag tag : tagSummaryPageCollection.getTags()) {
-            fileIO.writeContentToFile(
-                    templateEngine.getRenderedScenarioSummaryPageContentByTagFilter(scenarioSummaryPageCollection, tag),
-                    propertyManager.getGeneratedHtmlReportDirectory() + "/" +
-                            PluginSettings.PAGES_DIRECTORY + PluginSettings.TAG_SCENARIO_PAGE_FRAGMENT +
-                            tag.getUrlFriendlyName() + PluginSettings.HTML_FILE_EXTENSION);
+            String tagPagePath = propertyManager.getGeneratedHtmlReportDirectory() + "/" +
+                    PluginSettings.PAGES_DIRECTORY + PluginSettings.TAG_SCENARIO_PAGE_FRAGMENT + tag.getUrlFriendlyName();
+            pageWriters.add(() -> writeFilteredScenarioSummaryPage(
+                    tagPagePath, scenarioSummaryPageCollection.getTagFilteredView(tag)));
+        }
+    }
+
+    /**
+     * Write the scenario list page of a tag or feature and its Javascript data file if deferred rendering is enabled.
+     * Both files are written from the same filtered view and share its fingerprint.
+     *
+     * @param pagePath     The scenario list page path without file extension.
+     * @param filteredView The filtered {@link ScenarioSummaryPageCollection} of the page.
+     * @throws CluecumberPluginException Thrown if a file cannot be rendered or written.
+     */
+    private void writeFilteredScenarioSummaryPage(
+            final String pagePath, final ScenarioSummaryPageCollection filteredView) throws CluecumberPluginException {
+        String fingerprint = reportManifest.getFingerprint(filteredView.getReports());
+        writePage(pagePath + PluginSettings.HTML_FILE_EXTENSION,
+                () -> fingerprint,
+                writer -> templateEngine.renderFilteredScenarioSummaryPageContent(filteredView, writer));
+        if (propertyManager.isDeferredRendering()) {
+            writeScenarioSummaryData(pagePath, filteredView, () -> fingerprint);
         }
     }
 
     /**
-     * Generate detail pages for scenarios.
+     * Write the Javascript data file of a scenario list page.
+     * The data file has the same path as the page but a different file extension.
      *
+     * @param pagePath                      The scenario list page path without file extension.
+     * @param scenarioSummaryPageCollection The {@link ScenarioSummaryPageCollection} of the page (or its filtered view).
+     * @param fingerprint                   The {@link Supplier} of the page data fingerprint.
+     * @throws CluecumberPluginException Thrown if the file cannot be rendered or written.
+     */
+    private void writeScenarioSummaryData(
+            final String pagePath,
+            final ScenarioSummaryPageCollection scenarioSummaryPageCollection,
+            final Supplier<String> fingerprint) throws CluecumberPluginException {
+        writePage(pagePath + PluginSettings.JS_FILE_EXTENSION,
+                fingerprint,
+                writer -> templateEngine.renderScenarioSummaryData(scenarioSummaryPageCollection, writer));
+    }
+
+    /**
+     * Add detail pages for scenarios.
+     * Scenarios whose inline step content exceeds the lazy content threshold get one fragment page per step or hook
+     * with output or inline embeddings. The detail page only loads these fragments when they are opened.
+     *
+     * @param pageWriters                   The {@link PageWriter} list.
      * @param scenarioSummaryPageCollection The {@link ScenarioSummaryPageCollection}.
-     * @throws CluecumberPluginException The {@link CluecumberPluginException}.
      */
-    private void generateScenarioDetailPages(final ScenarioSummaryPageCollection scenarioSummaryPageCollection) throws CluecumberPluginException {
-        DetailPageCollection detailPageCollection;
+    private void addScenarioDetailPages(
+            final List<PageWriter> pageWriters, final ScenarioSummaryPageCollection scenarioSummaryPageCollection) {
+        long lazyContentThreshold = (long) propertyManager.getLazyContentThreshold() * BYTES_PER_KILOBYTE;
         for (Report report : scenarioSummaryPageCollection.getReports()) {
             for (Element element : report.getElements()) {
-                detailPageCollection = new DetailPageCollection(element);
-                fileIO.writeContentToFile(
-                        templateEngine.getRenderedScenarioDetailPageContent(detailPageCollection),
-                        propertyManager.getGeneratedHtmlReportDirectory() + "/" +
-                                PluginSettings.PAGES_DIRECTORY + PluginSettings.SCENARIO_DETAIL_PAGE_FRAGMENT +
-                                element.getScenarioIndex() + PluginSettings.HTML_FILE_EXTENSION);
+                String scenarioPagePath = propertyManager.getGeneratedHtmlReportDirectory() + "/" +
+                        PluginSettings.PAGES_DIRECTORY + PluginSettings.SCENARIO_DETAIL_PAGE_FRAGMENT +
+                        element.getScenarioIndex();
+                boolean lazyContent = element.getInlineContentSize() > lazyContentThreshold;
+                pageWriters.add(() -> {
+                    DetailPageCollection detailPageCollection = new DetailPageCollection(element);
+                    detailPageCollection.setLazyContent(lazyContent);
+                    writePage(scenarioPagePath + PluginSettings.HTML_FILE_EXTENSION,
+                            element::getSourceFingerprint,
+                            writer -> templateEngine.renderScenarioDetailPageContent(detailPageCollection, writer));
+                });
+                if (lazyContent) {
+                    addScenarioDetailFragments(pageWriters, scenarioPagePath, element, BEFORE_FRAGMENT, element.getBefore());
+                    addScenarioDetailFragments(pageWriters, scenarioPagePath, element, STEP_FRAGMENT, element.getSteps());
+                    addScenarioDetailFragments(pageWriters, scenarioPagePath, element, AFTER_FRAGMENT, element.getAfter());
+                }
+            }
+        }
+    }
+
+    /**
+     * Add fragment pages for the steps or hooks of a scenario that have inline content.
+     *
+     * @param pageWriters      The {@link PageWriter} list.
+     * @param scenarioPagePath The scenario detail page path without file extension, used as the fragment directory.
+     * @param element          The scenario {@link Element}.
+     * @param fragmentName     The fragment name prefix for this kind of step.
+     * @param steps            The steps or hooks.
+     */
+    private void addScenarioDetailFragments(
+            final List<PageWriter> pageWriters,
+            final String scenarioPagePath,
+            final Element element,
+            final String fragmentName,
+            final List<? extends ResultMatch> steps) {
+        for (int stepIndex = 0; stepIndex < steps.size(); stepIndex++) {
+            ResultMatch step = steps.get(stepIndex);
+            if (!step.hasInlineContent()) {
+                continue;
             }
+            String fragmentPath = scenarioPagePath + "/" + fragmentName + stepIndex + PluginSettings.HTML_FILE_EXTENSION;
+            pageWriters.add(() -> {
+                fileSystemManager.createDirectory(scenarioPagePath);
+                writePage(fragmentPath,
+                        element::getSourceFingerprint,
+                        writer -> templateEngine.renderScenarioDetailFragmentContent(
+                                new DetailFragmentPageCollection(element, step), writer));
+            });
         }
     }
 
@@ -141,14 +324,16 @@ public class ReportGenerator {
      * @throws CluecumberPluginException The {@link CluecumberPluginException}.
      */
     private void generateScenarioSummaryPage(final ScenarioSummaryPageCollection scenarioSummaryPageCollection) throws CluecumberPluginException {
-        fileIO.writeContentToFile(
-                templateEngine.getRenderedScenarioSummaryPageContent(scenarioSummaryPageCollection),
+        writePage(
                 propertyManager.getGeneratedHtmlReportDirectory() + "/" +
-                        PluginSettings.SCENARIO_SUMMARY_PAGE_PATH + PluginSettings.HTML_FILE_EXTENSION);
+                PluginSettings.SCENARIO_SUMMARY_PAGE_PATH + PluginSettings.HTML_FILE_EXTENSION,
+                () -> reportManifest.getFingerprint(scenarioSummaryPageCollection.getReports()),
+                writer -> templateEngine.renderScenarioSummaryPageContent(scenarioSummaryPageCollection, writer));
     }
 
     /**
-     * Copy all needed report assets to the specified target directory.
+     * Create the report directories and export all needed report assets to the report directory
+     * or the shared asset directory. Assets that are already up to date are not copied again.
      *
      * @throws CluecumberPluginException The {@link CluecumberPluginException}.
      */
@@ -160,34 +345,71 @@ public class ReportGenerator {
         fileSystemManager.createDirectory(reportDirectory + "/" + PluginSettings.PAGES_DIRECTORY + "/" + PluginSettings.SCENARIO_DETAIL_PAGE_PATH);
         fileSystemManager.createDirectory(reportDirectory + "/" + PluginSettings.PAGES_DIRECTORY + "/" + PluginSettings.FEATURE_SCENARIOS_PAGE_PATH);
         fileSystemManager.createDirectory(reportDirectory + "/" + PluginSettings.PAGES_DIRECTORY + "/" + PluginSettings.TAG_SCENARIO_PAGE_PATH);
-        fileSystemManager.createDirectory(reportDirectory + "/js");
-        fileSystemManager.createDirectory(reportDirectory + "/css");
-
-        // Copy CSS resources
-        copyFileFromJarToReportDirectory("/css/bootstrap.min.css");
-        copyFileFromJarToReportDirectory("/css/cluecumber.css");
-        copyFileFromJarToReportDirectory("/css/datatables.min.css");
-        copyFileFromJarToReportDirectory("/css/jquery.fancybox.min.css");
-        copyFileFromJarToReportDirectory("/css/dataTables.bootstrap4.min.css");
-
-        // Copy Javascript resources
-        copyFileFromJarToReportDirectory("/js/jquery.min.js");
-        copyFileFromJarToReportDirectory("/js/bootstrap.min.js");
-        copyFileFromJarToReportDirectory("/js/popper.min.js");
-        copyFileFromJarToReportDirectory("/js/Chart.bundle.min.js");
-        copyFileFromJarToReportDirectory("/js/datatables.min.js");
-        copyFileFromJarToReportDirectory("/js/jquery.fancybox.min.js");
+
+        String assetDirectory = reportDirectory;
+        if (propertyManager.hasSharedAssetDirectory()) {
+            assetDirectory = propertyManager.getSharedAssetDirectory();
+        }
+        assetExporter.exportAssets(getClass(), PluginSettings.BASE_TEMPLATE_PATH, REPORT_ASSETS, assetDirectory);
+        templateEngine.setAssetBase(getAssetBase(reportDirectory, assetDirectory));
     }
 
     /**
-     * Copy a specific resource from the jar file to the report directory.
+     * Returns the prefix of asset links in the report pages.
+     * Pages link to a shared asset directory by a path relative to the report directory,
+     * so reports and assets can be moved or archived together.
      *
-     * @param fileName The file name of the source inside of the jar.
+     * @param reportDirectory The report directory.
+     * @param assetDirectory  The directory that contains the assets.
+     * @return The asset link prefix (empty or ending with a slash).
+     */
+    private String getAssetBase(final String reportDirectory, final String assetDirectory) {
+        Path reportPath = Paths.get(reportDirectory).toAbsolutePath().normalize();
+        Path assetPath = Paths.get(assetDirectory).toAbsolutePath().normalize();
+        try {
+            String relativePath = reportPath.relativize(assetPath).toString().replace('\\', '/');
+            return relativePath.isEmpty() ? "" : relativePath + "/";
+        } catch (IllegalArgumentException e) {
+            // Directories on different file system roots cannot be linked relatively.
+            return assetPath.toUri().toString();
+        }
+    }
+
+    /**
+     * Render page content directly into a buffered writer for the target file.
+     * In incremental mode, pages that were generated from the same data before are skipped.
+     *
+     * @param filePath      The target file path.
+     * @param fingerprint   The {@link Supplier} of the page data fingerprint (only used in incremental mode).
+     * @param contentWriter The {@link ContentWriter} that renders the page content.
      * @throws CluecumberPluginException The {@link CluecumberPluginException}.
      */
-    private void copyFileFromJarToReportDirectory(final String fileName) throws CluecumberPluginException {
-        fileSystemManager.exportResource(getClass(),
-                PluginSettings.BASE_TEMPLATE_PATH + fileName,
-                propertyManager.getGeneratedHtmlReportDirectory() + fileName);
+    private void writePage(
+            final String filePath, final Supplier<String> fingerprint, final ContentWriter contentWriter)
+            throws CluecumberPluginException {
+        if (propertyManager.isIncrementalGeneration() && reportManifest.isPageUpToDate(filePath, fingerprint.get())) {
+            return;
+        }
+        try (Writer writer = fileIO.createFileWriter(filePath)) {
+            contentWriter.write(writer);
+        } catch (IOException e) {
+            throw new FileCreationException(filePath);
+        }
+    }
+
+    /**
+     * Renders a single page and writes it to its file.
+     */
+    @FunctionalInterface
+    private interface PageWriter {
+        void write() throws CluecumberPluginException;
+    }
+
+    /**
+     * Renders page content into a writer.
+     */
+    @FunctionalInterface
+    private interface ContentWriter {
+        void write(Writer writer) throws CluecumberPluginException;
     }
 }
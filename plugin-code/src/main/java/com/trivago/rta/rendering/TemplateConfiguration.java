@@ -3,13 +3,18 @@ package com.trivago.rta.rendering;
 import com.trivago.rta.constants.PluginSettings;
 import com.trivago.rta.exceptions.CluecumberPluginException;
 import freemarker.template.Configuration;
+import freemarker.template.SimpleScalar;
 import freemarker.template.Template;
+import freemarker.template.TemplateBooleanModel;
 import freemarker.template.TemplateExceptionHandler;
 
 import javax.inject.Singleton;
 
 @Singleton
 public class TemplateConfiguration {
+    private static final String ASSET_BASE_VARIABLE = "assetBase";
+    private static final String DEFERRED_RENDERING_VARIABLE = "deferredRendering";
+
     private Configuration cfg;
 
     void init(final Class rootClass, final String basePath) {
@@ -18,6 +23,29 @@ public class TemplateConfiguration {
         cfg.setDefaultEncoding("UTF-8");
         cfg.setTemplateExceptionHandler(TemplateExceptionHandler.RETHROW_HANDLER);
         cfg.setLogTemplateExceptions(false);
+        setAssetBase("");
+        setDeferredRendering(false);
+    }
+
+    /**
+     * Set the prefix of all CSS and Javascript asset links, relative to the report directory.
+     * This has to be done before pages are rendered.
+     *
+     * @param assetBase The asset link prefix (empty or ending with a slash).
+     */
+    void setAssetBase(final String assetBase) {
+        cfg.setSharedVariable(ASSET_BASE_VARIABLE, new SimpleScalar(assetBase));
+    }
+
+    /**
+     * Set if the scenario list pages load their rows from Javascript data files.
+     * This has to be done before pages are rendered.
+     *
+     * @param deferredRendering true if scenario rows are loaded from data files.
+     */
+    void setDeferredRendering(final boolean deferredRendering) {
+        cfg.setSharedVariable(DEFERRED_RENDERING_VARIABLE,
+                deferredRendering ? TemplateBooleanModel.TRUE : TemplateBooleanModel.FALSE);
     }
 
     Template getTemplate(final String templateName) throws CluecumberPluginException {
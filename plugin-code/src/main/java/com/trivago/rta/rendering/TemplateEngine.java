@@ -18,8 +18,8 @@ package com.trivago.rta.rendering;
 
 import com.trivago.rta.constants.PluginSettings;
 import com.trivago.rta.exceptions.CluecumberPluginException;
-import com.trivago.rta.json.pojo.Tag;
-import com.trivago.rta.rendering.pages.pojos.Feature;
+import com.trivago.rta.properties.PropertyManager;
+import com.trivago.rta.rendering.pages.pojos.pagecollections.DetailFragmentPageCollection;
 import com.trivago.rta.rendering.pages.pojos.pagecollections.DetailPageCollection;
 import com.trivago.rta.rendering.pages.pojos.pagecollections.FeatureSummaryPageCollection;
 import com.trivago.rta.rendering.pages.pojos.pagecollections.ScenarioSummaryPageCollection;
@@ -28,9 +28,12 @@ import com.trivago.rta.rendering.pages.renderers.FeatureSummaryPageRenderer;
 import com.trivago.rta.rendering.pages.renderers.ScenarioDetailPageRenderer;
 import com.trivago.rta.rendering.pages.renderers.ScenarioSummaryPageRenderer;
 import com.trivago.rta.rendering.pages.renderers.TagSummaryPageRenderer;
+import freemarker.template.Template;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import java.io.IOException;
+import java.io.Writer;
 
 @Singleton
 public class TemplateEngine {
@@ -39,6 +42,7 @@ public class TemplateEngine {
     private final TagSummaryPageRenderer tagSummaryPageRenderer;
     private final ScenarioDetailPageRenderer scenarioDetailPageRenderer;
     private final ScenarioSummaryPageRenderer scenarioSummaryPageRenderer;
+    private final PropertyManager propertyManager;
 
     @Inject
     public TemplateEngine(
@@ -46,64 +50,120 @@ public class TemplateEngine {
             final FeatureSummaryPageRenderer featureSummaryPageRenderer,
             final TagSummaryPageRenderer tagSummaryPageRenderer,
             final ScenarioDetailPageRenderer scenarioDetailPageRenderer,
-            final ScenarioSummaryPageRenderer scenarioSummaryPageRenderer
+            final ScenarioSummaryPageRenderer scenarioSummaryPageRenderer,
+            final PropertyManager propertyManager
     ) {
         this.templateConfiguration = templateConfiguration;
         this.featureSummaryPageRenderer = featureSummaryPageRenderer;
         this.scenarioSummaryPageRenderer = scenarioSummaryPageRenderer;
         this.scenarioDetailPageRenderer = scenarioDetailPageRenderer;
         this.tagSummaryPageRenderer = tagSummaryPageRenderer;
+        this.propertyManager = propertyManager;
 
         templateConfiguration.init(this.getClass(), PluginSettings.BASE_TEMPLATE_PATH);
     }
 
-    String getRenderedScenarioSummaryPageContent(final ScenarioSummaryPageCollection scenarioSummaryPageCollection) throws CluecumberPluginException {
-        return RenderingUtils.prettifyHtml(scenarioSummaryPageRenderer.getRenderedContent(
-                scenarioSummaryPageCollection,
-                templateConfiguration.getTemplate(PluginSettings.SCENARIO_SUMMARY_TEMPLATE)
-        ));
+    /**
+     * Set the prefix of all CSS and Javascript asset links, relative to the report directory.
+     *
+     * @param assetBase The asset link prefix (empty or ending with a slash).
+     */
+    void setAssetBase(final String assetBase) {
+        templateConfiguration.setAssetBase(assetBase);
     }
 
-    String getRenderedScenarioSummaryPageContentByTagFilter(
-            final ScenarioSummaryPageCollection scenarioSummaryPageCollection,
-            final Tag tag) throws CluecumberPluginException {
+    /**
+     * Set if the scenario list pages load their rows from Javascript data files.
+     *
+     * @param deferredRendering true if scenario rows are loaded from data files.
+     */
+    void setDeferredRendering(final boolean deferredRendering) {
+        templateConfiguration.setDeferredRendering(deferredRendering);
+    }
+
+    /**
+     * Write the scenario rows of a scenario list page as a Javascript data file.
+     * The data is not prettified since it is not meant to be read.
+     *
+     * @param scenarioSummaryPageCollection The {@link ScenarioSummaryPageCollection} of the page (or its filtered view).
+     * @param writer                        The target {@link Writer}.
+     * @throws CluecumberPluginException Thrown if the data cannot be written.
+     */
+    void renderScenarioSummaryData(final ScenarioSummaryPageCollection scenarioSummaryPageCollection, final Writer writer)
+            throws CluecumberPluginException {
+        scenarioSummaryPageRenderer.renderScenarioData(scenarioSummaryPageCollection, writer);
+    }
+
+    void renderScenarioSummaryPageContent(final ScenarioSummaryPageCollection scenarioSummaryPageCollection, final Writer writer)
+            throws CluecumberPluginException {
+        Template template = templateConfiguration.getTemplate(PluginSettings.SCENARIO_SUMMARY_TEMPLATE);
+        render(writer,
+                pageWriter -> scenarioSummaryPageRenderer.renderContent(scenarioSummaryPageCollection, template, pageWriter));
+    }
+
+    void renderFilteredScenarioSummaryPageContent(final ScenarioSummaryPageCollection filteredView, final Writer writer)
+            throws CluecumberPluginException {
+        Template template = templateConfiguration.getTemplate(PluginSettings.SCENARIO_SUMMARY_TEMPLATE);
+        render(writer,
+                pageWriter -> scenarioSummaryPageRenderer.renderFilteredContent(filteredView, template, pageWriter));
+    }
 
-        return RenderingUtils.prettifyHtml(scenarioSummaryPageRenderer.getRenderedContentByTagFilter(
-                scenarioSummaryPageCollection,
-                templateConfiguration.getTemplate(PluginSettings.SCENARIO_SUMMARY_TEMPLATE),
-                tag
-        ));
+    void renderScenarioDetailPageContent(final DetailPageCollection detailPageCollection, final Writer writer)
+            throws CluecumberPluginException {
+        Template template = templateConfiguration.getTemplate(PluginSettings.SCENARIO_DETAIL_TEMPLATE);
+        render(writer,
+                pageWriter -> scenarioDetailPageRenderer.renderContent(detailPageCollection, template, pageWriter));
     }
 
-    String getRenderedScenarioSummaryPageContentByFeatureFilter(
-            final ScenarioSummaryPageCollection scenarioSummaryPageCollection,
-            final Feature feature) throws CluecumberPluginException {
+    void renderScenarioDetailFragmentContent(
+            final DetailFragmentPageCollection detailFragmentPageCollection, final Writer writer)
+            throws CluecumberPluginException {
+        Template template = templateConfiguration.getTemplate(PluginSettings.SCENARIO_DETAIL_FRAGMENT_TEMPLATE);
+        render(writer, pageWriter -> scenarioDetailPageRenderer.renderFragmentContent(
+                detailFragmentPageCollection, template, pageWriter));
+    }
 
-        return RenderingUtils.prettifyHtml(scenarioSummaryPageRenderer.getRenderedContentByFeatureFilter(
-                scenarioSummaryPageCollection,
-                templateConfiguration.getTemplate(PluginSettings.SCENARIO_SUMMARY_TEMPLATE),
-                feature
-        ));
+    void renderTagSummaryPageContent(final TagSummaryPageCollection tagSummaryPageCollection, final Writer writer)
+            throws CluecumberPluginException {
+        Template template = templateConfiguration.getTemplate(PluginSettings.TAG_SUMMARY_TEMPLATE);
+        render(writer,
+                pageWriter -> tagSummaryPageRenderer.renderContent(tagSummaryPageCollection, template, pageWriter));
     }
 
-    String getRenderedScenarioDetailPageContent(final DetailPageCollection detailPageCollection) throws CluecumberPluginException {
-        return RenderingUtils.prettifyHtml(scenarioDetailPageRenderer.getRenderedContent(
-                detailPageCollection,
-                templateConfiguration.getTemplate(PluginSettings.SCENARIO_DETAIL_TEMPLATE)
-        ));
+    void renderFeatureSummaryPageContent(final FeatureSummaryPageCollection featureSummaryPageCollection, final Writer writer)
+            throws CluecumberPluginException {
+        Template template = templateConfiguration.getTemplate(PluginSettings.FEATURE_SUMMARY_TEMPLATE);
+        render(writer,
+                pageWriter -> featureSummaryPageRenderer.renderContent(featureSummaryPageCollection, template, pageWriter));
     }
 
-    String getRenderedTagSummaryPageContent(final TagSummaryPageCollection tagSummaryPageCollection) throws CluecumberPluginException {
-        return RenderingUtils.prettifyHtml(tagSummaryPageRenderer.getRenderedContent(
-                tagSummaryPageCollection,
-                templateConfiguration.getTemplate(PluginSettings.TAG_SUMMARY_TEMPLATE)
-        ));
+    /**
+     * Render a page into the passed writer. The output is re-indented while it is written
+     * if the prettifyHtml option is set.
+     *
+     * @param writer          The target {@link Writer}. It is not closed by this method.
+     * @param contentRenderer The {@link ContentRenderer} that writes the page.
+     * @throws CluecumberPluginException Thrown if the page cannot be rendered.
+     */
+    private void render(final Writer writer, final ContentRenderer contentRenderer) throws CluecumberPluginException {
+        if (!propertyManager.isPrettifyHtml()) {
+            contentRenderer.render(writer);
+            return;
+        }
+        HtmlIndentingWriter htmlIndentingWriter = new HtmlIndentingWriter(writer);
+        contentRenderer.render(htmlIndentingWriter);
+        try {
+            htmlIndentingWriter.finish();
+        } catch (IOException e) {
+            throw new CluecumberPluginException("Could not render page content: " + e.getMessage());
+        }
     }
 
-    String getRenderedFeatureSummaryPageContent(final FeatureSummaryPageCollection featureSummaryPageCollection) throws CluecumberPluginException {
-        return RenderingUtils.prettifyHtml(featureSummaryPageRenderer.getRenderedContent(
-                featureSummaryPageCollection,
-                templateConfiguration.getTemplate(PluginSettings.FEATURE_SUMMARY_TEMPLATE)
-        ));
+    /**
+     * Writes the content of a single page.
+     */
+    @FunctionalInterface
+    private interface ContentRenderer {
+        void render(Writer writer) throws CluecumberPluginException;
     }
 }
@@ -0,0 +1,41 @@
+package com.trivago.rta.rendering.pages.pojos;
+
+import com.trivago.rta.constants.Status;
+import com.trivago.rta.json.pojo.Element;
+
+/**
+ * Aggregate scenario totals that are updated incrementally whenever an element is added.
+ */
+public class ScenarioStatistics {
+    private int totalNumberOfScenarios;
+    private int[] numberOfElementsByStatus = new int[Status.values().length];
+    private long totalDuration;
+
+    public void addElement(final Element element) {
+        if (element.isScenario()) {
+            totalNumberOfScenarios++;
+        }
+        numberOfElementsByStatus[element.getStatus().ordinal()]++;
+        totalDuration += element.getTotalDuration();
+    }
+
+    public int getTotalNumberOfScenarios() {
+        return totalNumberOfScenarios;
+    }
+
+    public int getNumberOfElementsWithStatus(final Status status) {
+        return numberOfElementsByStatus[status.ordinal()];
+    }
+
+    public long getTotalDuration() {
+        return totalDuration;
+    }
+
+    @Override
+    public String toString() {
+        return "ScenarioStatistics{" +
+                "totalNumberOfScenarios=" + totalNumberOfScenarios +
+                ", totalDuration=" + totalDuration +
+                '}';
+    }
+}
@@ -21,6 +21,7 @@ import com.trivago.rta.json.pojo.Element;
 
 public class DetailPageCollection extends PageCollection {
     private Element element;
+    private boolean lazyContent;
 
     public DetailPageCollection(final Element element) {
         super(PluginSettings.SCENARIO_DETAIL_PAGE_NAME);
@@ -30,4 +31,12 @@ public class DetailPageCollection extends PageCollection {
     public Element getElement() {
         return element;
     }
+
+    public boolean isLazyContent() {
+        return lazyContent;
+    }
+
+    public void setLazyContent(final boolean lazyContent) {
+        this.lazyContent = lazyContent;
+    }
 }
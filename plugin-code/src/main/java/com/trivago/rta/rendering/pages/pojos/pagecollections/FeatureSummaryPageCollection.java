@@ -2,22 +2,21 @@ package com.trivago.rta.rendering.pages.pojos.pagecollections;
 
 import com.trivago.rta.constants.PluginSettings;
 import com.trivago.rta.constants.Status;
-import com.trivago.rta.json.pojo.Element;
-import com.trivago.rta.json.pojo.Report;
+import com.trivago.rta.json.FeatureRegistry;
 import com.trivago.rta.rendering.pages.pojos.Feature;
 import com.trivago.rta.rendering.pages.pojos.ResultCount;
 
-import java.util.HashMap;
-import java.util.List;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 
 public class FeatureSummaryPageCollection extends SummaryPageCollection {
     private Map<Feature, ResultCount> resultCounts;
 
-    public FeatureSummaryPageCollection(final List<Report> reports) {
+    public FeatureSummaryPageCollection(
+            final ScenarioSummaryPageCollection scenarioSummaryPageCollection, final FeatureRegistry featureRegistry) {
         super(PluginSettings.FEATURE_SUMMARY_PAGE_NAME);
-        calculateFeatureResultCounts(reports);
+        calculateFeatureResultCounts(scenarioSummaryPageCollection, featureRegistry);
     }
 
     /**
@@ -50,20 +49,22 @@ public class FeatureSummaryPageCollection extends SummaryPageCollection {
     }
 
     /**
-     * Calculate the numbers of failures, successes and skips per feature.
+     * Get the numbers of failures, successes and skips per feature from the feature index.
+     * The features are taken from the {@link FeatureRegistry}, so they keep their index order.
      *
-     * @param reports The {@link Report} list.
+     * @param scenarioSummaryPageCollection The indexed {@link ScenarioSummaryPageCollection}.
+     * @param featureRegistry               The {@link FeatureRegistry} of the parsed reports.
      */
-    private void calculateFeatureResultCounts(final List<Report> reports) {
-        if (reports == null) return;
-        resultCounts = new HashMap<>();
-        for (Report report : reports) {
-            Feature feature = new Feature(report.getName(), report.getFeatureIndex());
-            ResultCount featureResultCount = this.resultCounts.getOrDefault(feature, new ResultCount());
-            for (Element element : report.getElements()) {
-                updateResultCount(featureResultCount, element.getStatus());
+    private void calculateFeatureResultCounts(
+            final ScenarioSummaryPageCollection scenarioSummaryPageCollection, final FeatureRegistry featureRegistry) {
+        resultCounts = new LinkedHashMap<>();
+        for (Map.Entry<Integer, ResultCount> entry : scenarioSummaryPageCollection.getResultCountsByFeatureIndex().entrySet()) {
+            int featureIndex = entry.getKey();
+            Feature feature = featureRegistry.getFeature(featureIndex);
+            if (feature == null) {
+                feature = new Feature(scenarioSummaryPageCollection.getFeatureName(featureIndex), featureIndex);
             }
-            this.resultCounts.put(feature, featureResultCount);
+            resultCounts.put(feature, entry.getValue());
         }
     }
 }
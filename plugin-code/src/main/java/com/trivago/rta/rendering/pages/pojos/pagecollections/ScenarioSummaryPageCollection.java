@@ -24,16 +24,39 @@ import com.trivago.rta.json.pojo.Tag;
 import com.trivago.rta.rendering.RenderingUtils;
 import com.trivago.rta.rendering.pages.pojos.CustomParameter;
 import com.trivago.rta.rendering.pages.pojos.Feature;
+import com.trivago.rta.rendering.pages.pojos.ResultCount;
+import com.trivago.rta.rendering.pages.pojos.ScenarioStatistics;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 
 public class ScenarioSummaryPageCollection extends PageCollection {
+    private static final BitSet NO_ELEMENTS = new BitSet();
+
     private List<Report> reports = new ArrayList<>();
     private List<CustomParameter> customParameters;
     private Tag tagFilter;
     private Feature featureFilter;
+    private ScenarioStatistics statistics = new ScenarioStatistics();
+
+    // Elements are identified by the order in which they were added.
+    private int[] reportIdsByElementId = new int[0];
+    private int[] firstElementIdsByReportId = new int[0];
+    private int elementCount;
+    private Map<Status, BitSet> elementIdsByStatus = new EnumMap<>(Status.class);
+    private Map<Tag, BitSet> elementIdsByTag = new LinkedHashMap<>();
+    private Map<Integer, BitSet> elementIdsByFeatureIndex = new LinkedHashMap<>();
+    private Map<Integer, String> featureNamesByFeatureIndex = new LinkedHashMap<>();
+
+    // The elements that are visible in a filtered view (null if all elements are visible).
+    private BitSet selectedElementIds;
 
     public ScenarioSummaryPageCollection() {
         super(PluginSettings.SCENARIO_SUMMARY_PAGE_NAME);
@@ -44,19 +67,188 @@ public class ScenarioSummaryPageCollection extends PageCollection {
     }
 
     public List<Report> clearReports() {
+        reportIdsByElementId = new int[0];
+        firstElementIdsByReportId = new int[0];
+        elementCount = 0;
+        statistics = new ScenarioStatistics();
+        elementIdsByStatus = new EnumMap<>(Status.class);
+        elementIdsByTag = new LinkedHashMap<>();
+        elementIdsByFeatureIndex = new LinkedHashMap<>();
+        featureNamesByFeatureIndex = new LinkedHashMap<>();
         return reports = new ArrayList<>();
     }
 
+    /**
+     * Add reports, index their elements by status, tag and feature and update the statistics in a single pass.
+     *
+     * @param reportList The {@link Report} array.
+     */
     public void addReports(final Report[] reportList) {
         if (reportList == null) {
             return;
         }
-        this.reports.addAll(Arrays.asList(reportList));
+        for (Report report : reportList) {
+            int reportId = reports.size();
+            reports.add(report);
+            if (reportId == firstElementIdsByReportId.length) {
+                firstElementIdsByReportId = Arrays.copyOf(firstElementIdsByReportId, Math.max(16, reportId * 2));
+            }
+            firstElementIdsByReportId[reportId] = elementCount;
+            featureNamesByFeatureIndex.putIfAbsent(report.getFeatureIndex(), report.getName());
+            BitSet featureElementIds =
+                    elementIdsByFeatureIndex.computeIfAbsent(report.getFeatureIndex(), index -> new BitSet());
+            for (Element element : report.getElements()) {
+                int elementId = addElement(reportId);
+                featureElementIds.set(elementId);
+                elementIdsByStatus.computeIfAbsent(element.getStatus(), status -> new BitSet()).set(elementId);
+                statistics.addElement(element);
+                for (Tag tag : new LinkedHashSet<>(element.getTags())) {
+                    elementIdsByTag.computeIfAbsent(tag, t -> new BitSet()).set(elementId);
+                }
+            }
+        }
+    }
+
+    private int addElement(final int reportId) {
+        if (elementCount == reportIdsByElementId.length) {
+            reportIdsByElementId = Arrays.copyOf(reportIdsByElementId, Math.max(16, elementCount * 2));
+        }
+        reportIdsByElementId[elementCount] = reportId;
+        return elementCount++;
+    }
+
+    /**
+     * Get a read-only view of the scenarios with a specific tag.
+     * The view shares all reports, elements and indexes with this collection instead of copying them.
+     *
+     * @param tag The {@link Tag} to filter by.
+     * @return The filtered {@link ScenarioSummaryPageCollection}.
+     */
+    public ScenarioSummaryPageCollection getTagFilteredView(final Tag tag) {
+        ScenarioSummaryPageCollection view = createView(elementIdsByTag.getOrDefault(tag, NO_ELEMENTS));
+        view.setTagFilter(tag);
+        return view;
+    }
+
+    /**
+     * Get a read-only view of the scenarios of a specific feature.
+     * The view shares all reports, elements and indexes with this collection instead of copying them.
+     *
+     * @param feature The {@link Feature} to filter by.
+     * @return The filtered {@link ScenarioSummaryPageCollection}.
+     */
+    public ScenarioSummaryPageCollection getFeatureFilteredView(final Feature feature) {
+        ScenarioSummaryPageCollection view =
+                createView(elementIdsByFeatureIndex.getOrDefault(feature.getIndex(), NO_ELEMENTS));
+        view.setFeatureFilter(feature);
+        return view;
+    }
+
+    /**
+     * Create a view that only contains the selected elements.
+     * Reports that are only partially selected are replaced by lightweight copies with the selected elements.
+     *
+     * @param elementIds The ids of the selected elements.
+     * @return The {@link ScenarioSummaryPageCollection} view.
+     */
+    private ScenarioSummaryPageCollection createView(final BitSet elementIds) {
+        ScenarioSummaryPageCollection view = new ScenarioSummaryPageCollection();
+        view.reportIdsByElementId = reportIdsByElementId;
+        view.firstElementIdsByReportId = firstElementIdsByReportId;
+        view.elementCount = elementCount;
+        view.elementIdsByStatus = elementIdsByStatus;
+        view.elementIdsByTag = elementIdsByTag;
+        view.elementIdsByFeatureIndex = elementIdsByFeatureIndex;
+        view.featureNamesByFeatureIndex = featureNamesByFeatureIndex;
+        view.selectedElementIds = elementIds;
+
+        List<Report> viewReports = new ArrayList<>();
+        int elementId = elementIds.nextSetBit(0);
+        while (elementId >= 0) {
+            int reportId = reportIdsByElementId[elementId];
+            Report report = reports.get(reportId);
+            int firstElementId = firstElementIdsByReportId[reportId];
+            List<Element> elements = new ArrayList<>();
+            while (elementId >= 0 && reportIdsByElementId[elementId] == reportId) {
+                Element element = report.getElements().get(elementId - firstElementId);
+                elements.add(element);
+                view.statistics.addElement(element);
+                elementId = elementIds.nextSetBit(elementId + 1);
+            }
+            viewReports.add(elements.size() == report.getElements().size() ?
+                    report : report.copyWithElements(Collections.unmodifiableList(elements)));
+        }
+        view.reports = Collections.unmodifiableList(viewReports);
+        return view;
+    }
+
+    /**
+     * Get the result counts of all tags, calculated from the tag and status indexes.
+     *
+     * @return a map of {@link ResultCount} lists with tags as keys.
+     */
+    public Map<Tag, ResultCount> getResultCountsByTag() {
+        Map<Tag, ResultCount> resultCounts = new LinkedHashMap<>();
+        elementIdsByTag.forEach((tag, elementIds) -> resultCounts.put(tag, getResultCount(elementIds)));
+        return resultCounts;
+    }
+
+    /**
+     * Get the result counts of all features, calculated from the feature and status indexes.
+     *
+     * @return a map of {@link ResultCount} lists with feature indexes as keys.
+     */
+    public Map<Integer, ResultCount> getResultCountsByFeatureIndex() {
+        Map<Integer, ResultCount> resultCounts = new LinkedHashMap<>();
+        elementIdsByFeatureIndex.forEach((featureIndex, elementIds) -> resultCounts.put(featureIndex, getResultCount(elementIds)));
+        return resultCounts;
+    }
+
+    public String getFeatureName(final int featureIndex) {
+        return featureNamesByFeatureIndex.get(featureIndex);
+    }
+
+    private ResultCount getResultCount(final BitSet elementIds) {
+        ResultCount resultCount = new ResultCount();
+        for (Map.Entry<Status, BitSet> entry : elementIdsByStatus.entrySet()) {
+            int count = countSelected(elementIds, entry.getValue());
+            switch (entry.getKey()) {
+                case PASSED:
+                    resultCount.addPassed(count);
+                    break;
+                case FAILED:
+                    resultCount.addFailed(count);
+                    break;
+                default:
+                    resultCount.addSkipped(count);
+                    break;
+            }
+        }
+        return resultCount;
+    }
+
+    /**
+     * Count the elements that are contained in both sets and visible in this collection.
+     *
+     * @param elementIds      The first element id set.
+     * @param otherElementIds The second element id set.
+     * @return The number of matching elements.
+     */
+    private int countSelected(final BitSet elementIds, final BitSet otherElementIds) {
+        BitSet intersection = (BitSet) elementIds.clone();
+        intersection.and(otherElementIds);
+        if (selectedElementIds != null) {
+            intersection.and(selectedElementIds);
+        }
+        return intersection.cardinality();
+    }
+
+    public ScenarioStatistics getStatistics() {
+        return statistics;
     }
 
     public int getTotalNumberOfScenarios() {
-        return reports.stream().map(Report::getElements).
-                mapToInt(elements -> (int) elements.stream().filter(Element::isScenario).count()).sum();
+        return statistics.getTotalNumberOfScenarios();
     }
 
     public boolean hasFailedScenarios() {
@@ -84,18 +276,11 @@ public class ScenarioSummaryPageCollection extends PageCollection {
     }
 
     private int getNumberOfScenariosWithStatus(final Status status) {
-        return reports.stream().mapToInt(
-                report -> (int) report.getElements().stream().filter(
-                        element -> element.getStatus().equals(status)
-                ).count()).sum();
+        return statistics.getNumberOfElementsWithStatus(status);
     }
 
     public long getTotalDuration() {
-        long totalDurationMicroseconds = 0;
-        for (Report report : reports) {
-            totalDurationMicroseconds += report.getTotalDuration();
-        }
-        return totalDurationMicroseconds;
+        return statistics.getTotalDuration();
     }
 
     public String getTotalDurationString() {
@@ -10,23 +10,6 @@ public class SummaryPageCollection extends PageCollection {
         super(pageName);
     }
 
-    void updateResultCount(ResultCount resultCount, final Status status) {
-        switch (status) {
-            case PASSED:
-                resultCount.addPassed(1);
-                break;
-            case FAILED:
-                resultCount.addFailed(1);
-                break;
-            case SKIPPED:
-            case PENDING:
-            case UNDEFINED:
-            case AMBIGUOUS:
-                resultCount.addSkipped(1);
-                break;
-        }
-    }
-
     int getNumberOfResultsWithStatus(final Collection<ResultCount> resultCounts, final Status status) {
         int sum = 0;
         for (ResultCount resultCount : resultCounts) {
@@ -18,22 +18,18 @@ package com.trivago.rta.rendering.pages.pojos.pagecollections;
 
 import com.trivago.rta.constants.PluginSettings;
 import com.trivago.rta.constants.Status;
-import com.trivago.rta.json.pojo.Element;
-import com.trivago.rta.json.pojo.Report;
 import com.trivago.rta.json.pojo.Tag;
 import com.trivago.rta.rendering.pages.pojos.ResultCount;
 
-import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 public class TagSummaryPageCollection extends SummaryPageCollection {
     private Map<Tag, ResultCount> tagResultCounts;
 
-    public TagSummaryPageCollection(List<Report> reports) {
+    public TagSummaryPageCollection(final ScenarioSummaryPageCollection scenarioSummaryPageCollection) {
         super(PluginSettings.TAG_SUMMARY_PAGE_NAME);
-        calculateTagResultCounts(reports);
+        tagResultCounts = scenarioSummaryPageCollection.getResultCountsByTag();
     }
 
     /**
@@ -64,23 +60,4 @@ public class TagSummaryPageCollection extends SummaryPageCollection {
     public int getTotalNumberOfSkippedTags() {
         return getNumberOfResultsWithStatus(tagResultCounts.values(), Status.SKIPPED);
     }
-
-    /**
-     * Calculate the numbers of failures, successes and skips per tag name.
-     *
-     * @param reports The {@link Report} list.
-     */
-    private void calculateTagResultCounts(final List<Report> reports) {
-        if (reports == null) return;
-        tagResultCounts = new HashMap<>();
-        for (Report report : reports) {
-            for (Element element : report.getElements()) {
-                for (Tag tag : element.getTags()) {
-                    ResultCount tagResultCount = tagResultCounts.getOrDefault(tag, new ResultCount());
-                    updateResultCount(tagResultCount, element.getStatus());
-                    tagResultCounts.put(tag, tagResultCount);
-                }
-            }
-        }
-    }
 }
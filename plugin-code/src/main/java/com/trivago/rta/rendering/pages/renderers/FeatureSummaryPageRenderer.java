@@ -33,6 +33,7 @@ import com.trivago.rta.rendering.pages.pojos.pagecollections.FeatureSummaryPageC
 import freemarker.template.Template;
 
 import javax.inject.Singleton;
+import java.io.Writer;
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
@@ -40,12 +41,12 @@ import java.util.Map;
 
 @Singleton
 public class FeatureSummaryPageRenderer extends PageRenderer {
-    public String getRenderedContent(
-            final FeatureSummaryPageCollection featureSummaryPageCollection, final Template template)
+    public void renderContent(
+            final FeatureSummaryPageCollection featureSummaryPageCollection, final Template template, final Writer writer)
             throws CluecumberPluginException {
 
         addChartJsonToReportDetails(featureSummaryPageCollection);
-        return processedContent(template, featureSummaryPageCollection);
+        processContent(template, featureSummaryPageCollection, writer);
     }
 
     private void addChartJsonToReportDetails(final FeatureSummaryPageCollection featureSummaryPageCollection) {
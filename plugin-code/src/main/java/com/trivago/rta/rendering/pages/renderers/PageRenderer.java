@@ -22,20 +22,17 @@ import freemarker.template.Template;
 import freemarker.template.TemplateException;
 
 import java.io.IOException;
-import java.io.StringWriter;
 import java.io.Writer;
 
 class PageRenderer {
 
-    String processedContent(final Template template, final PageCollection pageCollection)
+    void processContent(final Template template, final PageCollection pageCollection, final Writer writer)
             throws CluecumberPluginException {
 
-        Writer stringWriter = new StringWriter();
         try {
-            template.process(pageCollection, stringWriter);
+            template.process(pageCollection, writer);
         } catch (TemplateException | IOException e) {
             throw new CluecumberPluginException("Could not render page content: " + e.getMessage());
         }
-        return stringWriter.toString();
     }
 }
@@ -26,21 +26,31 @@ import be.ceau.chart.options.ticks.LinearTicks;
 import com.trivago.rta.constants.ChartColor;
 import com.trivago.rta.exceptions.CluecumberPluginException;
 import com.trivago.rta.json.pojo.Step;
+import com.trivago.rta.rendering.pages.pojos.pagecollections.DetailFragmentPageCollection;
 import com.trivago.rta.rendering.pages.pojos.pagecollections.DetailPageCollection;
 import freemarker.template.Template;
 
 import javax.inject.Singleton;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.List;
 
 @Singleton
 public class ScenarioDetailPageRenderer extends PageRenderer {
 
-    public String getRenderedContent(final DetailPageCollection detailPageCollection, final Template template)
+    public void renderContent(
+            final DetailPageCollection detailPageCollection, final Template template, final Writer writer)
             throws CluecumberPluginException {
 
         addChartJsonToReportDetails(detailPageCollection);
-        return processedContent(template, detailPageCollection);
+        processContent(template, detailPageCollection, writer);
+    }
+
+    public void renderFragmentContent(
+            final DetailFragmentPageCollection detailFragmentPageCollection, final Template template, final Writer writer)
+            throws CluecumberPluginException {
+
+        processContent(template, detailFragmentPageCollection, writer);
     }
 
     private void addChartJsonToReportDetails(final DetailPageCollection detailPageCollection) {
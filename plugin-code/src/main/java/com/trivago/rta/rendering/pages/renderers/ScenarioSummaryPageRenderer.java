@@ -21,21 +21,21 @@ import be.ceau.chart.color.Color;
 import be.ceau.chart.data.PieData;
 import be.ceau.chart.dataset.PieDataset;
 import be.ceau.chart.options.PieOptions;
-import com.rits.cloning.Cloner;
+import com.google.gson.stream.JsonWriter;
 import com.trivago.rta.constants.ChartColor;
 import com.trivago.rta.constants.Status;
 import com.trivago.rta.exceptions.CluecumberPluginException;
 import com.trivago.rta.json.pojo.Element;
 import com.trivago.rta.json.pojo.Report;
-import com.trivago.rta.json.pojo.Tag;
 import com.trivago.rta.properties.PropertyManager;
 import com.trivago.rta.rendering.pages.pojos.CustomParameter;
-import com.trivago.rta.rendering.pages.pojos.Feature;
 import com.trivago.rta.rendering.pages.pojos.pagecollections.ScenarioSummaryPageCollection;
 import freemarker.template.Template;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import java.io.IOException;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -46,65 +46,110 @@ public class ScenarioSummaryPageRenderer extends PageRenderer {
         TAG, FEATURE
     }
 
+    private static final String SCENARIO_DATA_VARIABLE = "scenarioData";
+
     private PropertyManager propertyManager;
-    private Cloner cloner;
 
     @Inject
     public ScenarioSummaryPageRenderer(PropertyManager propertyManager) {
         this.propertyManager = propertyManager;
-        cloner = new Cloner();
     }
 
-    public String getRenderedContent(
-            final ScenarioSummaryPageCollection scenarioSummaryPageCollection, final Template template)
+    public void renderContent(
+            final ScenarioSummaryPageCollection scenarioSummaryPageCollection, final Template template, final Writer writer)
             throws CluecumberPluginException {
 
         addChartJsonToReportDetails(scenarioSummaryPageCollection);
         addCustomParametersToReportDetails(scenarioSummaryPageCollection);
-        return processedContent(template, scenarioSummaryPageCollection);
+        processContent(template, scenarioSummaryPageCollection, writer);
+    }
+
+    /**
+     * Render a scenario list page of a tag or feature.
+     *
+     * @param filteredView The tag or feature filtered view of the {@link ScenarioSummaryPageCollection}.
+     * @param template     The scenario summary {@link Template}.
+     * @param writer       The target {@link Writer}.
+     * @throws CluecumberPluginException Thrown if the page cannot be rendered.
+     */
+    public void renderFilteredContent(
+            final ScenarioSummaryPageCollection filteredView, final Template template, final Writer writer)
+            throws CluecumberPluginException {
+
+        addChartJsonToReportDetails(filteredView);
+        processContent(template, filteredView, writer);
     }
 
-    public String getRenderedContentByTagFilter(
-            final ScenarioSummaryPageCollection scenarioSummaryPageCollection,
-            final Template template,
-            final Tag tag) throws CluecumberPluginException {
-
-        ScenarioSummaryPageCollection scenarioSummaryPageCollectionClone = cloner.deepClone(scenarioSummaryPageCollection);
-        scenarioSummaryPageCollectionClone.setTagFilter(tag);
-        for (Report report : scenarioSummaryPageCollectionClone.getReports()) {
-            List<Element> elements = new ArrayList<>();
-            for (Element element : report.getElements()) {
-                if (element.getTags().contains(tag)){
-                    elements.add(element);
+    /**
+     * Write the scenario rows of a scenario list page as a Javascript variable that the scenario tables render from.
+     * Features are listed once and referenced by their position. Every row contains the feature reference,
+     * scenario name, scenario index, total duration and duration string. Names are not HTML escaped,
+     * this is done by the page when a row is displayed.
+     *
+     * @param scenarioSummaryPageCollection The {@link ScenarioSummaryPageCollection} of the page (or its filtered view).
+     * @param writer                        The target {@link Writer}. It is not closed by this method.
+     * @throws CluecumberPluginException Thrown if the data cannot be written.
+     */
+    public void renderScenarioData(final ScenarioSummaryPageCollection scenarioSummaryPageCollection, final Writer writer)
+            throws CluecumberPluginException {
+        List<Report> reports = scenarioSummaryPageCollection.getReports();
+        try {
+            writer.write("var " + SCENARIO_DATA_VARIABLE + " = ");
+            JsonWriter jsonWriter = new JsonWriter(writer);
+            jsonWriter.setHtmlSafe(true);
+            jsonWriter.beginObject();
+
+            jsonWriter.name("features").beginArray();
+            for (Report report : reports) {
+                String tooltipText = report.getUri();
+                if (report.getDescription() != null && !report.getDescription().isEmpty()) {
+                    tooltipText = report.getDescription() + " | " + tooltipText;
                 }
+                jsonWriter.beginArray()
+                        .value(report.getName())
+                        .value(tooltipText)
+                        .value(report.getFeatureIndex())
+                        .endArray();
             }
-            report.setElements(elements);
+            jsonWriter.endArray();
+
+            for (Status status : new Status[]{Status.FAILED, Status.SKIPPED, Status.PASSED}) {
+                jsonWriter.name(status.getStatusString()).beginArray();
+                for (int reportIndex = 0; reportIndex < reports.size(); reportIndex++) {
+                    for (Element element : reports.get(reportIndex).getElements()) {
+                        if (hasStatus(element, status)) {
+                            jsonWriter.beginArray()
+                                    .value(reportIndex)
+                                    .value(element.getName())
+                                    .value(element.getScenarioIndex())
+                                    .value(element.getTotalDuration())
+                                    .value(element.returnTotalDurationString())
+                                    .endArray();
+                        }
+                    }
+                }
+                jsonWriter.endArray();
+            }
+
+            jsonWriter.endObject();
+            jsonWriter.flush();
+            writer.write(";\n");
+        } catch (IOException e) {
+            throw new CluecumberPluginException("Could not render scenario data: " + e.getMessage());
         }
-        addChartJsonToReportDetails(scenarioSummaryPageCollectionClone);
-        return processedContent(template, scenarioSummaryPageCollectionClone);
     }
 
-    public String getRenderedContentByFeatureFilter(
-            final ScenarioSummaryPageCollection scenarioSummaryPageCollection,
-            final Template template,
-            final Feature feature) throws CluecumberPluginException {
-
-        ScenarioSummaryPageCollection scenarioSummaryPageCollectionClone = cloner.deepClone(scenarioSummaryPageCollection);
-        scenarioSummaryPageCollectionClone.setFeatureFilter(feature);
-        List<Report> reports = new ArrayList<>();
-        for (Report report : scenarioSummaryPageCollectionClone.getReports()) {
-            if(report.getFeatureIndex() == feature.getIndex()){
-                reports.add(report);
-            }
+    private boolean hasStatus(final Element element, final Status status) {
+        switch (status) {
+            case FAILED:
+                return element.isFailed();
+            case SKIPPED:
+                return element.isSkipped();
+            default:
+                return element.isPassed();
         }
-        Report[] reportArray = reports.toArray(new Report[0]);
-        scenarioSummaryPageCollectionClone.clearReports();
-        scenarioSummaryPageCollectionClone.addReports(reportArray);
-        addChartJsonToReportDetails(scenarioSummaryPageCollectionClone);
-        return processedContent(template, scenarioSummaryPageCollectionClone);
     }
 
-
     private void addChartJsonToReportDetails(final ScenarioSummaryPageCollection scenarioSummaryPageCollection) {
         PieDataset pieDataset = new PieDataset();
         pieDataset.setData(
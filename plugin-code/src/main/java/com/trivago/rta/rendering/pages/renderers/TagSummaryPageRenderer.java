@@ -33,6 +33,7 @@ import com.trivago.rta.rendering.pages.pojos.pagecollections.TagSummaryPageColle
 import freemarker.template.Template;
 
 import javax.inject.Singleton;
+import java.io.Writer;
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
@@ -41,12 +42,12 @@ import java.util.Map;
 @Singleton
 public class TagSummaryPageRenderer extends PageRenderer {
 
-    public String getRenderedContent(
-            final TagSummaryPageCollection tagSummaryPageCollection, final Template template)
+    public void renderContent(
+            final TagSummaryPageCollection tagSummaryPageCollection, final Template template, final Writer writer)
             throws CluecumberPluginException {
 
         addChartJsonToReportDetails(tagSummaryPageCollection);
-        return processedContent(template, tagSummaryPageCollection);
+        processContent(template, tagSummaryPageCollection, writer);
     }
 
     private void addChartJsonToReportDetails(final TagSummaryPageCollection tagSummaryPageCollection) {
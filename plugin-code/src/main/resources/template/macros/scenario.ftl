@@ -21,6 +21,18 @@
                     </#switch>
 
                     <div class="card-body">
+                        <#if deferredRendering>
+                        <table index="results_${status}" class="table table-hover renderAsDeferredDataTable"
+                               data-status="${status}">
+                            <thead>
+                            <tr>
+                                <th class="text-left">Feature</th>
+                                <th class="text-left">Scenario</th>
+                                <th>Duration</th>
+                            </tr>
+                            </thead>
+                        </table>
+                        <#else>
                         <table index="results_${status}" class="table table-hover renderAsDataTable">
                             <thead>
                             <tr>
@@ -57,6 +69,7 @@
                                 </#list>
                             </tbody>
                         </table>
+                        </#if>
                     </div>
                 </div>
             </div>
@@ -64,24 +77,54 @@
     </#if>
 </#macro>
 
-<#macro attachments step>
+<#macro content step fragment>
+    <#if lazyContent && step.hasInlineContent()>
+        <div class="row">
+            <div class="col-1"></div>
+            <div class="col-10 text-left">
+                <button type="button" class="btn btn-sm btn-outline-secondary" onclick="loadFrame(this);">Show output
+                </button>
+                <iframe class="d-none"
+                        data-src="pages/scenario-detail/scenario_${element.scenarioIndex}/${fragment}.html"
+                        width="100%" height="400" scrolling="yes" onload="resizeIframe(this);"></iframe>
+            </div>
+            <div class="col-1"></div>
+        </div>
+        <@attachments step=step inline=false/>
+    <#else>
+        <@output step=step/>
+        <@attachments step=step/>
+    </#if>
+</#macro>
+
+<#macro attachments step inline=true>
     <#if step.embeddings??>
         <#list step.embeddings as attachment>
-            <div class="row">
-                <div class="col-1"></div>
-                <div class="col-10 text-left">
-                    <#if attachment.image>
-                        <a class="grouped_elements" rel="images"
-                           href="attachments/${attachment.filename}">
-                            <img src="attachments/${attachment.filename}"
-                                 style="width: 100%"/>
-                        </a>
-                    <#else>
-                        ${attachment.data?html}
-                    </#if>
+            <#if attachment.filename?? || (inline && !attachment.image)>
+                <div class="row">
+                    <div class="col-1"></div>
+                    <div class="col-10 text-left">
+                        <#if attachment.image>
+                            <a class="grouped_elements" rel="images"
+                               href="attachments/${attachment.filename}">
+                                <img src="attachments/${attachment.filename}"
+                                     style="width: 100%"/>
+                            </a>
+                        <#elseif attachment.filename??>
+                            <a href="attachments/${attachment.filename}" target="_blank">${attachment.mimeType?html}
+                                attachment</a>
+                            <button type="button" class="btn btn-sm btn-outline-secondary"
+                                    onclick="loadFrame(this);">Show
+                            </button>
+                            <iframe class="d-none" data-src="attachments/${attachment.filename}" width="100%"
+                                    height="400" scrolling="yes"></iframe>
+                        <#else>
+                            ${attachment.data?html}
+                        </#if>
+                    </div>
+                    <div class="col-1"></div>
                 </div>
-                <div class="col-1"></div>
-            </div>
+            </#if>
         </#list>
     </#if>
 </#macro>
@@ -0,0 +1,27 @@
+<!--
+<#include "snippets/license.ftl">
+-->
+<!DOCTYPE html>
+<html lang="en">
+<head>
+    <meta charset="utf-8">
+    <meta http-equiv="Content-Type" content="text/html; charset=UTF-8"/>
+    <title>${element.name?html}</title>
+</head>
+<body>
+<#if step.output??>
+    <#list step.output as output>
+        <#if output?has_content>
+            <div>${output}</div>
+        </#if>
+    </#list>
+</#if>
+<#if step.embeddings??>
+    <#list step.embeddings as attachment>
+        <#if attachment.data??>
+            <div>${attachment.data?html}</div>
+        </#if>
+    </#list>
+</#if>
+</body>
+</html>
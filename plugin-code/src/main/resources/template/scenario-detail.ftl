@@ -5,7 +5,17 @@
 <@page.page base="../.." links=["feature_summary", "tag_summary", "scenario_summary"] headline="Scenario '${element.name?html}'">
     <script>
         function resizeIframe(obj) {
-            obj.style.height = (obj.contentWindow.document.body.scrollHeight + 20) + 'px';
+            try {
+                obj.style.height = (obj.contentWindow.document.body.scrollHeight + 20) + 'px';
+            } catch (e) {
+                // Browsers that treat local files as different origins keep the initial height.
+            }
+        }
+
+        function loadFrame(button) {
+            var iframe = $(button).siblings('iframe');
+            iframe.attr('src', iframe.data('src')).removeClass('d-none');
+            $(button).remove();
         }
     </script>
 
@@ -49,8 +59,7 @@
                             </div>
                         </div>
                         <@scenario.errorMessage step=before/>
-                        <@scenario.output step=before/>
-                        <@scenario.attachments step=before/>
+                        <@scenario.content step=before fragment="before_${before?index}"/>
                     </#list>
                 </li>
             </#if>
@@ -91,8 +100,7 @@
                             </div>
                         </div>
                         <@scenario.errorMessage step=step/>
-                        <@scenario.output step=step/>
-                        <@scenario.attachments step=step/>
+                        <@scenario.content step=step fragment="step_${step?index}"/>
                     </#list>
                 </li>
             </#if>
@@ -117,8 +125,7 @@
                             </div>
                         </div>
                         <@scenario.errorMessage step=after/>
-                        <@scenario.output step=after/>
-                        <@scenario.attachments step=after/>
+                        <@scenario.content step=after fragment="after_${after?index}"/>
                     </#list>
                 </li>
             </#if>
@@ -6,14 +6,17 @@
     <#assign base = "./../..">
     <#assign headline = "Scenarios Tagged With '${tagFilter.name}'">
     <#assign links = ["feature_summary", "tag_summary", "scenario_summary"]>
+    <#assign scenarioDataFile = "pages/tag-scenarios/tag_${tagFilter.getUrlFriendlyName()}.js">
 <#elseif (featureFilter??)>
     <#assign base = "./../..">
     <#assign headline = "Scenarios in Feature '${featureFilter.name}'">
     <#assign links = ["feature_summary", "tag_summary", "scenario_summary"]>
+    <#assign scenarioDataFile = "pages/feature-scenarios/feature_${featureFilter.index}.js">
 <#else>
     <#assign base = ".">
     <#assign headline = "All Scenarios">
     <#assign links = ["feature_summary", "tag_summary"]>
+    <#assign scenarioDataFile = "index.js">
 </#if>
 
 <@page.page base=base links=links headline=headline>
@@ -51,6 +54,9 @@
         </@page.card>
     </div>
 
+    <#if deferredRendering>
+        <script src="${scenarioDataFile}" charset="UTF-8"></script>
+    </#if>
     <@scenarioMacros.table status="failed"/>
     <@scenarioMacros.table status="skipped"/>
     <@scenarioMacros.table status="passed"/>
@@ -1,5 +1,5 @@
-<link rel="stylesheet" href="css/bootstrap.min.css" type="text/css">
-<link href="css/cluecumber.css" rel="stylesheet" type="text/css">
-<link rel="stylesheet" href="css/dataTables.min.css">
-<link rel="stylesheet" href="css/dataTables.bootstrap4.min.css">
-<link rel="stylesheet" href="css/jquery.fancybox.min.css"/>
\ No newline at end of file
+<link rel="stylesheet" href="${assetBase}css/bootstrap.min.css" type="text/css">
+<link href="${assetBase}css/cluecumber.css" rel="stylesheet" type="text/css">
+<link rel="stylesheet" href="${assetBase}css/dataTables.min.css">
+<link rel="stylesheet" href="${assetBase}css/dataTables.bootstrap4.min.css">
+<link rel="stylesheet" href="${assetBase}css/jquery.fancybox.min.css"/>
\ No newline at end of file
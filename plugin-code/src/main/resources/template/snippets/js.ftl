@@ -1,11 +1,15 @@
-<script src="js/jquery.min.js"></script>
-<script src="js/popper.min.js"></script>
-<script src="js/bootstrap.min.js"></script>
-<script src="js/datatables.min.js"></script>
-<script src="js/jquery.fancybox.min.js"></script>
-<script src="js/Chart.bundle.min.js"></script>
+<script src="${assetBase}js/jquery.min.js"></script>
+<script src="${assetBase}js/popper.min.js"></script>
+<script src="${assetBase}js/bootstrap.min.js"></script>
+<script src="${assetBase}js/datatables.min.js"></script>
+<script src="${assetBase}js/jquery.fancybox.min.js"></script>
+<script src="${assetBase}js/Chart.bundle.min.js"></script>
 
 <script>
+    function escapeHtml(text) {
+        return $('<div>').text(text === null ? '' : text).html().replace(/"/g, '&quot;');
+    }
+
     $(document).ready(function () {
         // Data tables
         var dataTable = $('.renderAsDataTable').on('draw.dt', function () {
@@ -16,6 +20,50 @@
             }
         });
 
+        // Data tables that only render the visible rows from the scenario data file
+        $('.renderAsDeferredDataTable').each(function () {
+            var features = scenarioData.features;
+            $(this).on('draw.dt', function () {
+                $('[data-toggle="tooltip"]').tooltip();
+            }).DataTable({
+                "oLanguage": {
+                    "sSearch": "Search all columns:"
+                },
+                "data": scenarioData[$(this).data('status')],
+                "deferRender": true,
+                "columns": [
+                    {
+                        "className": "text-left",
+                        "render": function (data, type, row) {
+                            var feature = features[row[0]];
+                            if (type !== 'display') {
+                                return feature[0];
+                            }
+                            return '<span data-toggle="tooltip" title="' + escapeHtml(feature[1]) + '">' +
+                                '<a href="pages/feature-scenarios/feature_' + feature[2] + '.html">' +
+                                escapeHtml(feature[0]) + '</a></span>';
+                        }
+                    },
+                    {
+                        "className": "text-left",
+                        "render": function (data, type, row) {
+                            if (type !== 'display') {
+                                return row[1];
+                            }
+                            return '<a href="pages/scenario-detail/scenario_' + row[2] + '.html">' +
+                                escapeHtml(row[1]) + '</a>';
+                        }
+                    },
+                    {
+                        "className": "text-right",
+                        "render": function (data, type, row) {
+                            return type === 'display' ? '<nobr>' + row[4] + '</nobr>' : row[3];
+                        }
+                    }
+                ]
+            });
+        });
+
         // Lightbox
         $("a.grouped_elements").fancybox();
 
@@ -1,9 +1,10 @@
 package com.trivago.rta;
 
 import com.trivago.rta.exceptions.CluecumberPluginException;
-import com.trivago.rta.filesystem.FileIO;
+import com.trivago.rta.filesystem.AttachmentWriter;
 import com.trivago.rta.filesystem.FileSystemManager;
-import com.trivago.rta.json.JsonPojoConverter;
+import com.trivago.rta.incremental.ReportManifest;
+import com.trivago.rta.json.JsonFileParser;
 import com.trivago.rta.logging.CluecumberLogger;
 import com.trivago.rta.properties.PropertyManager;
 import com.trivago.rta.rendering.ReportGenerator;
@@ -11,31 +12,36 @@ import org.junit.Before;
 import org.junit.Test;
 
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 
 public class CluecumberReportPluginTest {
 
     private CluecumberReportPlugin cluecumberReportPlugin;
+    private AttachmentWriter attachmentWriter;
 
     @Before
     public void setup() throws CluecumberPluginException {
         CluecumberLogger cluecumberLogger = mock(CluecumberLogger.class);
         PropertyManager propertyManager = mock(PropertyManager.class);
         FileSystemManager fileSystemManager = mock(FileSystemManager.class);
-        FileIO fileIO = mock(FileIO.class);
-        JsonPojoConverter jsonPojoConverter = mock(JsonPojoConverter.class);
+        JsonFileParser jsonFileParser = mock(JsonFileParser.class);
         ReportGenerator reportGenerator = mock(ReportGenerator.class);
+        ReportManifest reportManifest = mock(ReportManifest.class);
+        attachmentWriter = mock(AttachmentWriter.class);
         cluecumberReportPlugin = new CluecumberReportPlugin(
                 cluecumberLogger,
                 propertyManager,
                 fileSystemManager,
-                fileIO,
-                jsonPojoConverter,
-                reportGenerator
+                jsonFileParser,
+                reportGenerator,
+                reportManifest,
+                attachmentWriter
         );
     }
 
     @Test
     public void executeTest() throws CluecumberPluginException {
         cluecumberReportPlugin.execute();
+        verify(attachmentWriter).flush();
     }
 }
@@ -0,0 +1,74 @@
+package com.trivago.rta.files;
+
+import com.trivago.rta.exceptions.CluecumberPluginException;
+import com.trivago.rta.filesystem.AssetExporter;
+import com.trivago.rta.filesystem.FileIO;
+import com.trivago.rta.logging.CluecumberLogger;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class AssetExporterTest {
+    private static final List<String> ASSETS = Arrays.asList("/css/cluecumber.css", "/js/popper.min.js");
+
+    private AssetExporter assetExporter;
+    private String destination;
+
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    @Before
+    public void setup() {
+        assetExporter = new AssetExporter(new FileIO(), mock(CluecumberLogger.class));
+        destination = testFolder.getRoot().getPath();
+    }
+
+    @Test
+    public void exportAssetsTest() throws Exception {
+        assetExporter.exportAssets(getClass(), "/template", ASSETS, destination);
+        Path css = testFolder.getRoot().toPath().resolve("css/cluecumber.css");
+        assertThat(Files.exists(css), is(true));
+        assertThat(Files.exists(testFolder.getRoot().toPath().resolve("js/popper.min.js")), is(true));
+        assertThat(Files.exists(testFolder.getRoot().toPath().resolve(".cluecumber/assets.json")), is(true));
+    }
+
+    @Test
+    public void unchangedAssetsAreNotCopiedTest() throws Exception {
+        assetExporter.exportAssets(getClass(), "/template", ASSETS, destination);
+        Path css = testFolder.getRoot().toPath().resolve("css/cluecumber.css");
+        FileTime lastModified = FileTime.fromMillis(1000);
+        Files.setLastModifiedTime(css, lastModified);
+
+        assetExporter.exportAssets(getClass(), "/template", ASSETS, destination);
+        assertThat(Files.getLastModifiedTime(css), is(lastModified));
+    }
+
+    @Test
+    public void changedAssetsAreCopiedTest() throws Exception {
+        assetExporter.exportAssets(getClass(), "/template", ASSETS, destination);
+        Path css = testFolder.getRoot().toPath().resolve("css/cluecumber.css");
+        byte[] content = Files.readAllBytes(css);
+        byte[] changedContent = new byte[content.length];
+        Files.write(css, changedContent);
+
+        assetExporter.exportAssets(getClass(), "/template", ASSETS, destination);
+        assertThat(Files.readAllBytes(css), is(content));
+    }
+
+    @Test(expected = CluecumberPluginException.class)
+    public void missingAssetTest() throws Exception {
+        assetExporter.exportAssets(getClass(), "/template", Collections.singletonList("/missing.css"), destination);
+    }
+}
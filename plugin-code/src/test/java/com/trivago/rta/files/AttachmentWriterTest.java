@@ -0,0 +1,155 @@
+package com.trivago.rta.files;
+
+import com.trivago.rta.filesystem.AttachmentWriter;
+import com.trivago.rta.filesystem.FileIO;
+import com.trivago.rta.json.pojo.Embedding;
+import com.trivago.rta.logging.CluecumberLogger;
+import com.trivago.rta.properties.PropertyManager;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentCaptor;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class AttachmentWriterTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private String reportDirectory;
+    private PropertyManager propertyManager;
+    private CluecumberLogger logger;
+    private AttachmentWriter attachmentWriter;
+
+    @Before
+    public void setup() throws Exception {
+        reportDirectory = temporaryFolder.newFolder().toString();
+        propertyManager = mock(PropertyManager.class);
+        when(propertyManager.getGeneratedHtmlReportDirectory()).thenReturn(reportDirectory);
+        logger = mock(CluecumberLogger.class);
+        attachmentWriter = new AttachmentWriter(propertyManager, new FileIO(), logger);
+    }
+
+    @Test
+    public void getFileEndingTest() {
+        assertThat(attachmentWriter.getFileEnding("image/png"), is(".png"));
+        assertThat(attachmentWriter.getFileEnding("image/jpeg"), is(".jpg"));
+        assertThat(attachmentWriter.getFileEnding("image/gif"), is(".gif"));
+        assertThat(attachmentWriter.getFileEnding("image/svg+xml"), is(".svg"));
+        assertThat(attachmentWriter.getFileEnding("text/plain"), is(".txt"));
+        assertThat(attachmentWriter.getFileEnding("Text/HTML; charset=UTF-8"), is(".html"));
+        assertThat(attachmentWriter.getFileEnding("application/json"), is(".json"));
+        assertThat(attachmentWriter.getFileEnding("video/mp4"), is(".mp4"));
+        assertThat(attachmentWriter.getFileEnding("application/octet-stream"), is(".unknown"));
+    }
+
+    @Test
+    public void isWrittenToFileTest() {
+        when(propertyManager.getEmbeddingSizeThreshold()).thenReturn(1);
+        Embedding image = new Embedding();
+        image.setMimeType("image/png");
+        Embedding text = new Embedding();
+        text.setMimeType("text/plain");
+
+        assertThat(attachmentWriter.isWrittenToFile(image, "MTIz"), is(true));
+        assertThat(attachmentWriter.isWrittenToFile(text, "MTIz"), is(false));
+        assertThat(attachmentWriter.isWrittenToFile(text, new String(new char[1024])), is(false));
+        assertThat(attachmentWriter.isWrittenToFile(text, new String(new char[1025])), is(true));
+    }
+
+    @Test
+    public void writeBase64AttachmentTest() throws Exception {
+        String filename = attachmentWriter.writeBase64Attachment("MTIz", "image/png");
+        assertThat(filename, is("a665a45920422f9d417e4867efdc4fb8a04a1f3fff1fa07e998e86f7f7a27ae3.png"));
+        assertThat(new String(Files.readAllBytes(getAttachmentPath(filename)), StandardCharsets.UTF_8), is("123"));
+    }
+
+    @Test
+    public void writeDuplicateBase64AttachmentTest() throws Exception {
+        String filename = attachmentWriter.writeBase64Attachment("MTIz", "image/png");
+        Files.setLastModifiedTime(getAttachmentPath(filename), FileTime.fromMillis(0));
+
+        assertThat(attachmentWriter.writeBase64Attachment("MTIz", "image/png"), is(filename));
+        assertThat(Files.getLastModifiedTime(getAttachmentPath(filename)).toMillis(), is(0L));
+        assertThat(attachmentWriter.writeBase64Attachment("NDU2", "image/png").equals(filename), is(false));
+        try (Stream<Path> files = Files.list(getAttachmentPath(filename).getParent())) {
+            assertThat(files.count(), is(2L));
+        }
+    }
+
+    @Test
+    public void writeBase64AttachmentErrorTest() {
+        assertThat(attachmentWriter.writeBase64Attachment("M", "image/png"), is(nullValue()));
+        verify(logger).error(anyString());
+    }
+
+    @Test
+    public void writeBase64AttachmentAsynchronouslyTest() throws Exception {
+        when(propertyManager.getAttachmentWriterThreads()).thenReturn(2);
+        when(propertyManager.getAttachmentWriterMemory()).thenReturn(1);
+        List<String> filenames = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            String data = Base64.getEncoder().encodeToString(new byte[512 * 1024 + i % 5]);
+            filenames.add(attachmentWriter.writeBase64Attachment(data, "image/png"));
+        }
+        attachmentWriter.flush();
+
+        assertThat(new HashSet<>(filenames).size(), is(5));
+        for (String filename : filenames) {
+            assertThat(Files.isRegularFile(getAttachmentPath(filename)), is(true));
+        }
+        try (Stream<Path> files = Files.list(getAttachmentPath(filenames.get(0)).getParent())) {
+            assertThat(files.count(), is(5L));
+        }
+        verify(logger, never()).error(anyString());
+    }
+
+    @Test
+    public void writeBase64AttachmentAsynchronouslyErrorTest() throws Exception {
+        when(propertyManager.getAttachmentWriterThreads()).thenReturn(2);
+        when(propertyManager.getAttachmentWriterMemory()).thenReturn(1);
+        assertThat(attachmentWriter.writeBase64Attachment("M", "image/png"), is(nullValue()));
+        attachmentWriter.flush();
+        verify(logger).error(anyString());
+    }
+
+    @Test
+    public void writeBase64AttachmentAsynchronouslyWriteErrorTest() throws Exception {
+        when(propertyManager.getAttachmentWriterThreads()).thenReturn(2);
+        when(propertyManager.getAttachmentWriterMemory()).thenReturn(1);
+        Files.createFile(Paths.get(reportDirectory, AttachmentWriter.ATTACHMENT_DIRECTORY));
+        String filename = attachmentWriter.writeBase64Attachment("MTIz", "image/png");
+        attachmentWriter.flush();
+
+        ArgumentCaptor<String> message = ArgumentCaptor.forClass(String.class);
+        verify(logger).error(message.capture());
+        assertThat(message.getValue().contains(filename), is(true));
+
+        attachmentWriter.flush();
+        verify(logger, times(1)).error(anyString());
+    }
+
+    private Path getAttachmentPath(final String filename) {
+        return Paths.get(reportDirectory, AttachmentWriter.ATTACHMENT_DIRECTORY, filename);
+    }
+}
@@ -1,5 +1,6 @@
 package com.trivago.rta.files;
 
+import com.trivago.rta.exceptions.CluecumberPluginException;
 import com.trivago.rta.exceptions.filesystem.FileCreationException;
 import com.trivago.rta.exceptions.filesystem.MissingFileException;
 import com.trivago.rta.filesystem.FileIO;
@@ -7,6 +8,13 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 
+import java.io.ByteArrayInputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertThat;
 
@@ -29,9 +37,81 @@ public class FileIOTest {
         assertThat(fileIO.readContentFromFile(path), is(testString));
     }
 
+    @Test
+    public void readUtf8ContentTest() throws Exception {
+        Path path = testFolder.newFile("utf8.txt").toPath();
+        Files.write(path, " Test \u00f6\u00e4\u00fc \u20ac \n".getBytes(StandardCharsets.UTF_8));
+        assertThat(fileIO.readContentFromFile(path.toString()), is("Test \u00f6\u00e4\u00fc \u20ac"));
+    }
+
+    @Test(expected = MissingFileException.class)
+    public void createReaderForMissingFileTest() throws Exception {
+        fileIO.createFileReader(testFolder.getRoot().toPath().resolve("missing.json"));
+    }
+
     @Test(expected = MissingFileException.class)
     public void readFromMissingFileTest() throws Exception {
         String wrongPath = testFolder.getRoot().getPath().concat("/missing.tmp");
         fileIO.readContentFromFile(wrongPath);
     }
+
+    @Test
+    public void writeBase64ContentTest() throws Exception {
+        String path = testFolder.getRoot().getPath().concat("/test.txt");
+        fileIO.writeBase64ContentToFile("VGhpcyBpcyBh\r\nIHRlc3Qh", path);
+        assertThat(new String(Files.readAllBytes(Paths.get(path)), StandardCharsets.UTF_8), is("This is a test!"));
+    }
+
+    @Test(expected = FileCreationException.class)
+    public void writeBase64ContentToInvalidFileTest() throws Exception {
+        fileIO.writeBase64ContentToFile("VGVzdA==", "");
+    }
+
+    @Test
+    public void getBase64ContentHashTest() throws Exception {
+        assertThat(fileIO.getBase64ContentHash("VGhpcyBpcyBh\r\nIHRlc3Qh"),
+                is(fileIO.getBase64ContentHash("VGhpcyBpcyBhIHRlc3Qh")));
+        assertThat(fileIO.getBase64ContentHash("MTIz"),
+                is("a665a45920422f9d417e4867efdc4fb8a04a1f3fff1fa07e998e86f7f7a27ae3"));
+    }
+
+    @Test(expected = CluecumberPluginException.class)
+    public void getInvalidBase64ContentHashTest() throws Exception {
+        fileIO.getBase64ContentHash("M");
+    }
+
+    @Test
+    public void fileWriterTest() throws Exception {
+        String path = testFolder.getRoot().getPath().concat("/test.html");
+        try (Writer writer = fileIO.createFileWriter(path)) {
+            writer.write("Test öäü");
+        }
+        assertThat(new String(Files.readAllBytes(Paths.get(path)), StandardCharsets.UTF_8), is("Test öäü"));
+    }
+
+    @Test(expected = FileCreationException.class)
+    public void fileWriterForInvalidFileTest() throws Exception {
+        fileIO.createFileWriter("");
+    }
+
+    @Test
+    public void copyContentTest() throws Exception {
+        Path path = testFolder.getRoot().toPath().resolve("test.txt");
+        String hash = fileIO.copyContentToFile(
+                new ByteArrayInputStream("This is a test!".getBytes(StandardCharsets.UTF_8)), path);
+        assertThat(new String(Files.readAllBytes(path), StandardCharsets.UTF_8), is("This is a test!"));
+        assertThat(hash, is(fileIO.getContentHash(path)));
+        assertThat(hash.length(), is(64));
+    }
+
+    @Test
+    public void moveFileTest() throws Exception {
+        Path source = testFolder.getRoot().toPath().resolve("source.txt");
+        Path target = testFolder.getRoot().toPath().resolve("target.txt");
+        Files.write(source, "new".getBytes(StandardCharsets.UTF_8));
+        Files.write(target, "old".getBytes(StandardCharsets.UTF_8));
+        fileIO.moveFile(source, target);
+        assertThat(Files.exists(source), is(false));
+        assertThat(new String(Files.readAllBytes(target), StandardCharsets.UTF_8), is("new"));
+    }
 }
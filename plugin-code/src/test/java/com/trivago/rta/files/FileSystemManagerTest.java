@@ -42,10 +42,4 @@ public class FileSystemManagerTest {
     public void createInvalidDirectory() throws Exception {
         fileSystemManager.createDirectory("");
     }
-
-    @Test(expected = CluecumberPluginException.class)
-    public void exportResourceTest() throws Exception {
-        Class baseClass = this.getClass();
-        fileSystemManager.exportResource(baseClass, "resource", "destination");
-    }
 }
@@ -0,0 +1,75 @@
+package com.trivago.rta.files;
+
+import com.trivago.rta.filesystem.MappedFileReader;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.MalformedInputException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+public class MappedFileReaderTest {
+
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    @Test
+    public void readTest() throws IOException {
+        String content = "[{\"name\": \"Feature öäü\"}]";
+        assertThat(read(write(content.getBytes(StandardCharsets.UTF_8)), 1024), is(content));
+    }
+
+    @Test
+    public void readAcrossWindowsTest() throws IOException {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            content.append("aö€😀");
+        }
+        // Small windows make multi byte characters span window boundaries.
+        Path path = write(content.toString().getBytes(StandardCharsets.UTF_8));
+        assertThat(read(path, 5), is(content.toString()));
+        assertThat(read(path, 4096), is(content.toString()));
+    }
+
+    @Test
+    public void readEmptyFileTest() throws IOException {
+        assertThat(read(write(new byte[0]), 1024), is(""));
+    }
+
+    @Test(expected = MalformedInputException.class)
+    public void readMalformedFileTest() throws IOException {
+        read(write(new byte[]{'a', (byte) 0xC3}), 1024);
+    }
+
+    @Test(expected = IOException.class)
+    public void readClosedReaderTest() throws IOException {
+        Reader reader = new MappedFileReader(write(new byte[]{'a'}));
+        reader.close();
+        reader.read();
+    }
+
+    private Path write(final byte[] content) throws IOException {
+        Path path = testFolder.newFile().toPath();
+        Files.write(path, content);
+        return path;
+    }
+
+    private String read(final Path path, final long windowSize) throws IOException {
+        StringBuilder content = new StringBuilder();
+        try (Reader reader = new MappedFileReader(path, windowSize)) {
+            char[] buffer = new char[100];
+            int count;
+            while ((count = reader.read(buffer)) != -1) {
+                content.append(buffer, 0, count);
+            }
+        }
+        return content.toString();
+    }
+}
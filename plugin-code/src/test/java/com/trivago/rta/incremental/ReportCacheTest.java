@@ -0,0 +1,109 @@
+package com.trivago.rta.incremental;
+
+import com.trivago.rta.constants.PluginSettings;
+import com.trivago.rta.filesystem.AttachmentWriter;
+import com.trivago.rta.filesystem.FileIO;
+import com.trivago.rta.json.JsonPojoConverter;
+import com.trivago.rta.json.pojo.Element;
+import com.trivago.rta.json.pojo.Embedding;
+import com.trivago.rta.json.pojo.Report;
+import com.trivago.rta.json.pojo.Step;
+import com.trivago.rta.json.postprocessors.ReportPostProcessor;
+import com.trivago.rta.logging.CluecumberLogger;
+import com.trivago.rta.properties.PropertyManager;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.stream.Stream;
+
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ReportCacheTest {
+    private PropertyManager propertyManager;
+    private ReportCache reportCache;
+
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    @Before
+    public void setup() {
+        propertyManager = mock(PropertyManager.class);
+        when(propertyManager.getGeneratedHtmlReportDirectory()).thenReturn(testFolder.getRoot().getPath());
+        when(propertyManager.isIncrementalGeneration()).thenReturn(true);
+        JsonPojoConverter jsonPojoConverter = new JsonPojoConverter(
+                mock(ReportPostProcessor.class), mock(AttachmentWriter.class), new FileIO());
+        reportCache = new ReportCache(propertyManager, jsonPojoConverter, mock(CluecumberLogger.class));
+    }
+
+    @Test
+    public void writeAndReadTest() {
+        Path jsonFilePath = Paths.get("source/test.json");
+        reportCache.write(jsonFilePath, new Report[]{createReport()});
+
+        Report[] reports = reportCache.read(jsonFilePath);
+        assertThat(reports.length, is(1));
+        assertThat(reports[0].getName(), is("Feature"));
+        Embedding embedding = reports[0].getElements().get(0).getSteps().get(0).getEmbeddings().get(0);
+        assertThat(embedding.getFilename(), is("attachment_001.png"));
+        assertThat(embedding.getMimeType(), is("image/png"));
+    }
+
+    @Test
+    public void readMissingCacheTest() {
+        assertThat(reportCache.read(Paths.get("source/missing.json")), is(nullValue()));
+    }
+
+    @Test
+    public void readInvalidCacheTest() throws IOException {
+        Path jsonFilePath = Paths.get("source/test.json");
+        reportCache.write(jsonFilePath, new Report[]{createReport()});
+        Path cacheDirectory = testFolder.getRoot().toPath().resolve(PluginSettings.INCREMENTAL_DIRECTORY).resolve(ReportCache.CACHE_DIRECTORY);
+        try (Stream<Path> cacheFiles = Files.list(cacheDirectory)) {
+            Path cacheFile = cacheFiles.findFirst().orElseThrow(IllegalStateException::new);
+            Files.write(cacheFile, "invalid".getBytes(StandardCharsets.UTF_8));
+        }
+        assertThat(reportCache.read(jsonFilePath), is(nullValue()));
+    }
+
+    @Test
+    public void deleteTest() {
+        Path jsonFilePath = Paths.get("source/test.json");
+        reportCache.write(jsonFilePath, new Report[]{createReport()});
+        reportCache.delete(jsonFilePath.toString());
+        assertThat(reportCache.read(jsonFilePath), is(nullValue()));
+    }
+
+    @Test
+    public void disabledTest() {
+        when(propertyManager.isIncrementalGeneration()).thenReturn(false);
+        Path jsonFilePath = Paths.get("source/test.json");
+        reportCache.write(jsonFilePath, new Report[]{createReport()});
+        assertThat(reportCache.read(jsonFilePath), is(nullValue()));
+    }
+
+    private Report createReport() {
+        Embedding embedding = new Embedding();
+        embedding.setMimeType("image/png");
+        embedding.setFilename("attachment_001.png");
+        Step step = new Step();
+        step.setEmbeddings(Collections.singletonList(embedding));
+        Element element = new Element();
+        element.setSteps(Collections.singletonList(step));
+        Report report = new Report();
+        report.setName("Feature");
+        report.setElements(Collections.singletonList(element));
+        return report;
+    }
+}
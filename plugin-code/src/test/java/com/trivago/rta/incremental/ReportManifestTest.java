@@ -0,0 +1,157 @@
+package com.trivago.rta.incremental;
+
+import com.trivago.rta.filesystem.AttachmentWriter;
+import com.trivago.rta.filesystem.FileIO;
+import com.trivago.rta.json.JsonPojoConverter;
+import com.trivago.rta.json.pojo.Element;
+import com.trivago.rta.json.pojo.Report;
+import com.trivago.rta.json.postprocessors.ReportPostProcessor;
+import com.trivago.rta.logging.CluecumberLogger;
+import com.trivago.rta.properties.PropertyManager;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNot.not;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ReportManifestTest {
+    private PropertyManager propertyManager;
+    private ReportManifest reportManifest;
+    private Path reportDirectory;
+
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    @Before
+    public void setup() throws IOException {
+        reportDirectory = testFolder.newFolder("report").toPath();
+        propertyManager = mock(PropertyManager.class);
+        when(propertyManager.getGeneratedHtmlReportDirectory()).thenReturn(reportDirectory.toString());
+        when(propertyManager.isIncrementalGeneration()).thenReturn(true);
+        CluecumberLogger logger = mock(CluecumberLogger.class);
+        FileIO fileIO = new FileIO();
+        JsonPojoConverter jsonPojoConverter = new JsonPojoConverter(
+                mock(ReportPostProcessor.class), mock(AttachmentWriter.class), fileIO);
+        reportManifest = new ReportManifest(
+                propertyManager, fileIO, new ReportCache(propertyManager, jsonPojoConverter, logger), logger);
+    }
+
+    @Test
+    public void disabledTest() throws Exception {
+        when(propertyManager.isIncrementalGeneration()).thenReturn(false);
+        Path jsonFile = writeFile(testFolder.getRoot().toPath().resolve("test.json"), "[]");
+        reportManifest.load();
+        assertThat(reportManifest.updateSource(jsonFile), is(false));
+        assertThat(reportManifest.getFingerprint(new ArrayList<>()), is(nullValue()));
+        assertThat(reportManifest.isPageUpToDate(reportDirectory.resolve("index.html").toString(), "1"), is(false));
+        reportManifest.save();
+        assertThat(Files.exists(reportDirectory.resolve(".cluecumber")), is(false));
+    }
+
+    @Test
+    public void unchangedSourceTest() throws Exception {
+        Path jsonFile = writeFile(testFolder.getRoot().toPath().resolve("test.json"), "[]");
+        reportManifest.load();
+        assertThat(reportManifest.updateSource(jsonFile), is(false));
+        reportManifest.save();
+
+        reportManifest.load();
+        assertThat(reportManifest.updateSource(jsonFile), is(true));
+        reportManifest.save();
+
+        writeFile(jsonFile, "[ ]");
+        reportManifest.load();
+        assertThat(reportManifest.updateSource(jsonFile), is(false));
+    }
+
+    @Test
+    public void failedGenerationTest() throws Exception {
+        Path jsonFile = writeFile(testFolder.getRoot().toPath().resolve("test.json"), "[]");
+        reportManifest.load();
+        reportManifest.updateSource(jsonFile);
+        reportManifest.save();
+
+        // The second generation does not save its manifest.
+        reportManifest.load();
+        reportManifest.updateSource(jsonFile);
+
+        reportManifest.load();
+        assertThat(reportManifest.updateSource(jsonFile), is(false));
+    }
+
+    @Test
+    public void changedSettingsTest() throws Exception {
+        Path jsonFile = writeFile(testFolder.getRoot().toPath().resolve("test.json"), "[]");
+        reportManifest.load();
+        reportManifest.updateSource(jsonFile);
+        reportManifest.save();
+
+        Map<String, String> customParameters = new HashMap<>();
+        customParameters.put("key", "value");
+        when(propertyManager.getCustomParameters()).thenReturn(customParameters);
+        reportManifest.load();
+        assertThat(reportManifest.updateSource(jsonFile), is(false));
+    }
+
+    @Test
+    public void pageTest() throws Exception {
+        String upToDatePage = writeFile(reportDirectory.resolve("index.html"), "").toString();
+        String changedPage = writeFile(reportDirectory.resolve("changed.html"), "").toString();
+        Path outdatedPage = writeFile(reportDirectory.resolve("outdated.html"), "");
+
+        reportManifest.load();
+        assertThat(reportManifest.isPageUpToDate(upToDatePage, "1"), is(false));
+        assertThat(reportManifest.isPageUpToDate(changedPage, "2"), is(false));
+        assertThat(reportManifest.isPageUpToDate(outdatedPage.toString(), "3"), is(false));
+        reportManifest.save();
+
+        reportManifest.load();
+        assertThat(reportManifest.isPageUpToDate(upToDatePage, "1"), is(true));
+        assertThat(reportManifest.isPageUpToDate(changedPage, "4"), is(false));
+        assertThat(reportManifest.isPageUpToDate(reportDirectory.resolve("new.html").toString(), "5"), is(false));
+        reportManifest.save();
+
+        assertThat(Files.exists(outdatedPage), is(false));
+    }
+
+    @Test
+    public void fingerprintTest() throws Exception {
+        Path jsonFile = writeFile(testFolder.getRoot().toPath().resolve("test.json"), "[]");
+        reportManifest.load();
+        reportManifest.updateSource(jsonFile);
+
+        Report report = new Report();
+        Element element = new Element();
+        element.setScenarioIndex(3);
+        report.setElements(Collections.singletonList(element));
+        reportManifest.registerReports(jsonFile, new Report[]{report});
+        assertThat(element.getSourceFingerprint().endsWith("/0/0"), is(true));
+
+        List<Report> reports = Collections.singletonList(report);
+        String fingerprint = reportManifest.getFingerprint(reports);
+        assertThat(reportManifest.getFingerprint(reports), is(fingerprint));
+        element.setScenarioIndex(4);
+        assertThat(reportManifest.getFingerprint(reports), is(not(fingerprint)));
+    }
+
+    private Path writeFile(final Path path, final String content) throws IOException {
+        Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+        return path;
+    }
+}
@@ -0,0 +1,46 @@
+package com.trivago.rta.json;
+
+import com.trivago.rta.rendering.pages.pojos.Feature;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class FeatureRegistryTest {
+    private FeatureRegistry featureRegistry;
+
+    @Before
+    public void setup() {
+        featureRegistry = new FeatureRegistry();
+    }
+
+    @Test
+    public void registerTest() {
+        Feature featureA = featureRegistry.register("Feature A");
+        Feature featureB = featureRegistry.register("Feature B");
+        assertThat(featureA.getIndex(), is(0));
+        assertThat(featureB.getIndex(), is(1));
+        assertThat(featureRegistry.register("Feature A") == featureA, is(true));
+        assertThat(featureRegistry.getFeatures().size(), is(2));
+    }
+
+    @Test
+    public void getFeatureTest() {
+        Feature feature = featureRegistry.register("Feature A");
+        assertThat(featureRegistry.getFeature("Feature A") == feature, is(true));
+        assertThat(featureRegistry.getFeature(0) == feature, is(true));
+        assertThat(featureRegistry.getFeature("Feature B"), is(nullValue()));
+        assertThat(featureRegistry.getFeature(1), is(nullValue()));
+        assertThat(featureRegistry.getFeature(-1), is(nullValue()));
+    }
+
+    @Test
+    public void clearTest() {
+        featureRegistry.register("Feature A");
+        featureRegistry.clear();
+        assertThat(featureRegistry.getFeatures().size(), is(0));
+        assertThat(featureRegistry.register("Feature B").getIndex(), is(0));
+    }
+}
@@ -0,0 +1,126 @@
+package com.trivago.rta.json;
+
+import com.trivago.rta.exceptions.CluecumberPluginException;
+import com.trivago.rta.filesystem.AttachmentWriter;
+import com.trivago.rta.filesystem.FileIO;
+import com.trivago.rta.incremental.ReportCache;
+import com.trivago.rta.incremental.ReportManifest;
+import com.trivago.rta.json.pojo.Report;
+import com.trivago.rta.json.postprocessors.ReportPostProcessor;
+import com.trivago.rta.logging.CluecumberLogger;
+import com.trivago.rta.properties.PropertyManager;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class JsonFileParserTest {
+    private PropertyManager propertyManager;
+    private CluecumberLogger logger;
+    private JsonFileParser jsonFileParser;
+
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    @Before
+    public void setup() {
+        propertyManager = mock(PropertyManager.class);
+        when(propertyManager.getGeneratedHtmlReportDirectory()).thenReturn(testFolder.getRoot().toString());
+        logger = mock(CluecumberLogger.class);
+        ReportPostProcessor reportPostProcessor = new ReportPostProcessor(logger);
+        AttachmentWriter attachmentWriter = new AttachmentWriter(propertyManager, new FileIO(), logger);
+        JsonPojoConverter jsonPojoConverter = new JsonPojoConverter(reportPostProcessor, attachmentWriter, new FileIO());
+        jsonFileParser = new JsonFileParser(jsonPojoConverter, new FeatureRegistry(),
+                mock(ReportManifest.class), mock(ReportCache.class), propertyManager, logger);
+    }
+
+    @Test
+    public void parseNoJsonFilesTest() throws CluecumberPluginException {
+        when(propertyManager.getParsingThreads()).thenReturn(2);
+        Report[] reports = jsonFileParser.parseJsonFiles(new ArrayList<>());
+        assertThat(reports.length, is(0));
+    }
+
+    @Test
+    public void parseJsonFilesSingleThreadTest() throws Exception {
+        assertMergedReports(1);
+    }
+
+    @Test
+    public void parseJsonFilesMultipleThreadsTest() throws Exception {
+        assertMergedReports(4);
+    }
+
+    @Test
+    public void parseInvalidJsonFileTest() throws Exception {
+        when(propertyManager.getParsingThreads()).thenReturn(2);
+        List<Path> jsonFiles = new ArrayList<>();
+        jsonFiles.add(writeJsonFile("invalid.json", "[{"));
+        jsonFiles.add(writeJsonFile("valid.json", feature("Feature", 1)));
+
+        Report[] reports = jsonFileParser.parseJsonFiles(jsonFiles);
+        assertThat(reports.length, is(1));
+        verify(logger, times(1)).error(anyString());
+    }
+
+    private void assertMergedReports(final int threads) throws IOException, CluecumberPluginException {
+        when(propertyManager.getParsingThreads()).thenReturn(threads);
+        List<Path> jsonFiles = new ArrayList<>();
+        jsonFiles.add(writeJsonFile("1.json", feature("Feature A", 3)));
+        jsonFiles.add(writeJsonFile("2.json", feature("Feature B", 2)));
+        jsonFiles.add(writeJsonFile("3.json", feature("Feature A", 1)));
+        jsonFiles.add(writeJsonFile("4.json", ""));
+
+        Report[] reports = jsonFileParser.parseJsonFiles(jsonFiles);
+        Report[] reparsedReports = jsonFileParser.parseJsonFiles(jsonFiles);
+
+        assertThat(reports.length, is(3));
+        assertThat(getAttachmentFilename(reports[0], 2), is(getAttachmentFilename(reparsedReports[0], 2)));
+        assertThat(getAttachmentFilename(reports[0], 2).endsWith(".png"), is(true));
+        assertThat(getAttachmentFilename(reports[0], 0), is(getAttachmentFilename(reports[2], 0)));
+        assertThat(reports[0].getFeatureIndex(), is(0));
+        assertThat(reports[1].getFeatureIndex(), is(1));
+        assertThat(reports[2].getFeatureIndex(), is(0));
+        assertThat(reports[0].getElements().get(0).getScenarioIndex(), is(0));
+        assertThat(reports[0].getElements().get(2).getScenarioIndex(), is(2));
+        assertThat(reports[1].getElements().get(1).getScenarioIndex(), is(4));
+        assertThat(reports[2].getElements().get(0).getScenarioIndex(), is(5));
+    }
+
+    private String getAttachmentFilename(final Report report, final int elementIndex) {
+        return report.getElements().get(elementIndex).getSteps().get(0).getEmbeddings().get(0).getFilename();
+    }
+
+    private String feature(final String name, final int scenarios) {
+        StringBuilder json = new StringBuilder("[{\"name\": \"" + name + "\", \"elements\": [");
+        for (int i = 0; i < scenarios; i++) {
+            if (i > 0) {
+                json.append(",");
+            }
+            json.append("{\"name\": \"Scenario ").append(i).append("\", \"type\": \"scenario\", ")
+                    .append("\"steps\": [{\"embeddings\": [{\"data\": \"MTIz\", \"mime_type\": \"image/png\"}]}]}");
+        }
+        return json.append("]}]").toString();
+    }
+
+    private Path writeJsonFile(final String fileName, final String json) throws IOException {
+        Path jsonFile = testFolder.getRoot().toPath().resolve(fileName);
+        Files.write(jsonFile, json.getBytes(StandardCharsets.UTF_8));
+        return jsonFile;
+    }
+}
@@ -1,11 +1,21 @@
 package com.trivago.rta.json;
 
+import com.trivago.rta.constants.Status;
 import com.trivago.rta.exceptions.CluecumberPluginException;
+import com.trivago.rta.exceptions.filesystem.MissingFileException;
+import com.trivago.rta.filesystem.AttachmentWriter;
+import com.trivago.rta.filesystem.FileIO;
 import com.trivago.rta.json.pojo.Report;
-import com.trivago.rta.json.postprocessors.ElementPostProcessor;
 import com.trivago.rta.json.postprocessors.ReportPostProcessor;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.core.Is.is;
@@ -15,11 +25,14 @@ import static org.mockito.Mockito.mock;
 public class JsonPojoConverterTest {
     private JsonPojoConverter pojoConverter;
 
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
     @Before
     public void setup() {
-        ElementPostProcessor elementPostProcessor = mock(ElementPostProcessor.class);
         ReportPostProcessor reportPostProcessor = mock(ReportPostProcessor.class);
-        pojoConverter = new JsonPojoConverter(reportPostProcessor, elementPostProcessor);
+        AttachmentWriter attachmentWriter = mock(AttachmentWriter.class);
+        pojoConverter = new JsonPojoConverter(reportPostProcessor, attachmentWriter, new FileIO());
     }
 
     @Test
@@ -121,4 +134,73 @@ public class JsonPojoConverterTest {
     public void convertJsonToReportPojosInvalidTest() throws CluecumberPluginException {
         pojoConverter.convertJsonToReportPojos("!$%&§/");
     }
+
+    @Test
+    public void convertEmptyJsonFileToReportPojosTest() throws CluecumberPluginException, IOException {
+        Path jsonFile = testFolder.newFile("empty.json").toPath();
+        Report[] reports = pojoConverter.convertJsonToReportPojos(jsonFile);
+        assertThat(reports, is(nullValue()));
+    }
+
+    @Test
+    public void convertJsonFileToReportPojosTest() throws CluecumberPluginException, IOException {
+        String json = "[\n" +
+                "  {\n" +
+                "    \"name\": \"First feature\",\n" +
+                "    \"elements\": [{\"name\": \"Scenario \u00e4\u00f6\u00fc\", \"type\": \"scenario\"}]\n" +
+                "  },\n" +
+                "  {\n" +
+                "    \"name\": \"Second feature\"\n" +
+                "  }\n" +
+                "]\n";
+        Path jsonFile = testFolder.newFile("test.json").toPath();
+        Files.write(jsonFile, json.getBytes(StandardCharsets.UTF_8));
+
+        Report[] reports = pojoConverter.convertJsonToReportPojos(jsonFile);
+        assertThat(reports.length, is(2));
+        assertThat(reports[0].getName(), is("First feature"));
+        assertThat(reports[0].getElements().get(0).getName(), is("Scenario \u00e4\u00f6\u00fc"));
+        assertThat(reports[1].getName(), is("Second feature"));
+    }
+
+    @Test(expected = MissingFileException.class)
+    public void convertMissingJsonFileToReportPojosTest() throws CluecumberPluginException {
+        pojoConverter.convertJsonToReportPojos(testFolder.getRoot().toPath().resolve("missing.json"));
+    }
+
+    @Test(expected = CluecumberPluginException.class)
+    public void convertInvalidJsonFileToReportPojosTest() throws CluecumberPluginException, IOException {
+        Path jsonFile = testFolder.newFile("invalid.json").toPath();
+        Files.write(jsonFile, "[{\"name\": ".getBytes(StandardCharsets.UTF_8));
+        pojoConverter.convertJsonToReportPojos(jsonFile);
+    }
+
+    @Test
+    public void reportSnapshotTest() throws CluecumberPluginException, IOException {
+        String json = "[{\"name\": \"Feature\", \"elements\": [{\"name\": \"Scenario \u00e4\u00f6\u00fc\", \"steps\": " +
+                "[{\"name\": \"Step\", \"result\": {\"status\": \"failed\", \"duration\": 12345}}]}]}]";
+        Report[] reports = pojoConverter.convertJsonToReportPojos(json);
+        Path snapshotFile = testFolder.getRoot().toPath().resolve("reports.snapshot");
+
+        pojoConverter.writeReportSnapshot(reports, snapshotFile);
+        Report[] snapshotReports = pojoConverter.readReportSnapshot(snapshotFile);
+
+        assertThat(snapshotReports.length, is(1));
+        assertThat(snapshotReports[0].getName(), is("Feature"));
+        assertThat(snapshotReports[0].getElements().get(0).getName(), is("Scenario \u00e4\u00f6\u00fc"));
+        assertThat(snapshotReports[0].getElements().get(0).getSteps().get(0).getResult().getStatus(), is(Status.FAILED));
+        assertThat(snapshotReports[0].getElements().get(0).getTotalDuration(), is(12345L));
+    }
+
+    @Test(expected = MissingFileException.class)
+    public void readMissingReportSnapshotTest() throws CluecumberPluginException {
+        pojoConverter.readReportSnapshot(testFolder.getRoot().toPath().resolve("missing.snapshot"));
+    }
+
+    @Test(expected = CluecumberPluginException.class)
+    public void readInvalidReportSnapshotTest() throws CluecumberPluginException, IOException {
+        Path snapshotFile = testFolder.newFile("invalid.snapshot").toPath();
+        Files.write(snapshotFile, "[{\"name\": ".getBytes(StandardCharsets.UTF_8));
+        pojoConverter.readReportSnapshot(snapshotFile);
+    }
 }
@@ -30,7 +30,7 @@ public class ElementTest {
         List<Step> steps = new ArrayList<>();
         Step step = new Step();
         Result result = new Result();
-        result.setStatus("passed");
+        result.setStatus(Status.PASSED);
         step.setResult(result);
         steps.add(step);
         element.setSteps(steps);
@@ -45,7 +45,7 @@ public class ElementTest {
         List<Step> steps = new ArrayList<>();
         Step step = new Step();
         Result result = new Result();
-        result.setStatus("failed");
+        result.setStatus(Status.FAILED);
         step.setResult(result);
         steps.add(step);
         element.setSteps(steps);
@@ -60,7 +60,7 @@ public class ElementTest {
         List<Step> steps = new ArrayList<>();
         Step step = new Step();
         Result result = new Result();
-        result.setStatus("undefined");
+        result.setStatus(Status.UNDEFINED);
         step.setResult(result);
         steps.add(step);
         element.setSteps(steps);
@@ -113,7 +113,7 @@ public class ElementTest {
 
         Step step1 = new Step();
         Result result1 = new Result();
-        result1.setStatus("passed");
+        result1.setStatus(Status.PASSED);
         step1.setResult(result1);
         steps.add(step1);
         steps.add(step1);
@@ -121,19 +121,19 @@ public class ElementTest {
 
         Step step2 = new Step();
         Result result2 = new Result();
-        result2.setStatus("skipped");
+        result2.setStatus(Status.SKIPPED);
         step2.setResult(result2);
         steps.add(step2);
 
         Step step3 = new Step();
         Result result3 = new Result();
-        result3.setStatus("pending");
+        result3.setStatus(Status.PENDING);
         step3.setResult(result3);
         steps.add(step3);
 
         Step step4 = new Step();
         Result result4 = new Result();
-        result4.setStatus("failed");
+        result4.setStatus(Status.FAILED);
         step4.setResult(result4);
         steps.add(step4);
 
@@ -144,4 +144,67 @@ public class ElementTest {
         assertThat(element.getTotalNumberOfFailedSteps(), is(1));
         assertThat(element.getTotalNumberOfSkippedSteps(), is(2));
     }
+
+    @Test
+    public void setStepsResetsStatusTest() {
+        List<Step> steps = new ArrayList<>();
+        steps.add(getStep(Status.PASSED));
+        element.setSteps(steps);
+        assertThat(element.getStatus(), is(Status.PASSED));
+
+        List<Step> newSteps = new ArrayList<>(steps);
+        newSteps.add(getStep(Status.FAILED));
+        element.setSteps(newSteps);
+        assertThat(element.getStatus(), is(Status.FAILED));
+        assertThat(element.getTotalNumberOfPassedSteps(), is(1));
+        assertThat(element.getTotalNumberOfFailedSteps(), is(1));
+    }
+
+    @Test
+    public void testGetMixedSkippedStatus() {
+        List<Step> steps = new ArrayList<>();
+        steps.add(getStep(Status.PENDING));
+        steps.add(getStep(Status.SKIPPED));
+        element.setSteps(steps);
+        assertThat(element.getStatus(), is(Status.SKIPPED));
+        assertThat(element.getTotalNumberOfSkippedSteps(), is(2));
+    }
+
+    @Test
+    public void testGetInlineContentSize() {
+        List<After> after = new ArrayList<>();
+        After afterStep = new After();
+        List<String> output = new ArrayList<>();
+        output.add("1234");
+        output.add(null);
+        afterStep.setOutput(output);
+        after.add(afterStep);
+        element.setAfter(after);
+
+        List<Step> steps = new ArrayList<>();
+        Step step = getStep(Status.PASSED);
+        List<Embedding> embeddings = new ArrayList<>();
+        Embedding inlineEmbedding = new Embedding();
+        inlineEmbedding.setData("123");
+        embeddings.add(inlineEmbedding);
+        Embedding fileEmbedding = new Embedding();
+        fileEmbedding.setFilename("file.png");
+        embeddings.add(fileEmbedding);
+        step.setEmbeddings(embeddings);
+        steps.add(step);
+        steps.add(getStep(Status.PASSED));
+        element.setSteps(steps);
+
+        assertThat(element.getInlineContentSize(), is(7L));
+        assertThat(step.hasInlineContent(), is(true));
+        assertThat(steps.get(1).hasInlineContent(), is(false));
+    }
+
+    private Step getStep(final Status status) {
+        Step step = new Step();
+        Result result = new Result();
+        result.setStatus(status);
+        step.setResult(result);
+        return step;
+    }
 }
@@ -32,4 +32,19 @@ public class ReportTest {
         report.setElements(elements);
         assertThat(report.getTotalDuration(), is(10000000L));
     }
+
+    @Test
+    public void copyWithElementsTest() {
+        report.setName("Feature");
+        report.setUri("feature.feature");
+        report.setFeatureIndex(3);
+        List<Element> elements = new ArrayList<>();
+        elements.add(new Element());
+        Report copy = report.copyWithElements(elements);
+        assertThat(copy.getName(), is("Feature"));
+        assertThat(copy.getUri(), is("feature.feature"));
+        assertThat(copy.getFeatureIndex(), is(3));
+        assertThat(copy.getElements().size(), is(1));
+        assertThat(report.getElements().size(), is(0));
+    }
 }
@@ -0,0 +1,52 @@
+package com.trivago.rta.json.snapshot;
+
+import com.trivago.rta.json.pojo.Report;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.util.Arrays;
+
+public class ReportSnapshotReaderTest {
+
+    @Test(expected = StreamCorruptedException.class)
+    public void invalidMagicTest() throws IOException {
+        read(new byte[]{'[', '{', '}', ']', 0});
+    }
+
+    @Test(expected = StreamCorruptedException.class)
+    public void unsupportedVersionTest() throws IOException {
+        byte[] snapshot = write(new Report[0]);
+        snapshot[4] = (byte) (ReportSnapshotFormat.VERSION + 1);
+        read(snapshot);
+    }
+
+    @Test(expected = EOFException.class)
+    public void truncatedSnapshotTest() throws IOException {
+        Report report = new Report();
+        report.setName("Feature");
+        byte[] snapshot = write(new Report[]{report});
+        read(Arrays.copyOf(snapshot, snapshot.length - 1));
+    }
+
+    @Test(expected = StreamCorruptedException.class)
+    public void invalidStringReferenceTest() throws IOException {
+        byte[] snapshot = write(new Report[]{new Report()});
+        // The first string reference is the report name directly after the report line.
+        snapshot[7] = 5;
+        read(snapshot);
+    }
+
+    private byte[] write(final Report[] reports) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        new ReportSnapshotWriter(outputStream).write(reports);
+        return outputStream.toByteArray();
+    }
+
+    private void read(final byte[] snapshot) throws IOException {
+        new ReportSnapshotReader(new ByteArrayInputStream(snapshot)).read();
+    }
+}
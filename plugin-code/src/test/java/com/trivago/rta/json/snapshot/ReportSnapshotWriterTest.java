@@ -0,0 +1,164 @@
+package com.trivago.rta.json.snapshot;
+
+import com.trivago.rta.constants.Status;
+import com.trivago.rta.json.pojo.After;
+import com.trivago.rta.json.pojo.Argument;
+import com.trivago.rta.json.pojo.Before;
+import com.trivago.rta.json.pojo.Element;
+import com.trivago.rta.json.pojo.Embedding;
+import com.trivago.rta.json.pojo.Match;
+import com.trivago.rta.json.pojo.Report;
+import com.trivago.rta.json.pojo.Result;
+import com.trivago.rta.json.pojo.Row;
+import com.trivago.rta.json.pojo.Step;
+import com.trivago.rta.json.pojo.Tag;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.hamcrest.core.IsSame.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class ReportSnapshotWriterTest {
+
+    @Test
+    public void writeAndReadTest() throws IOException {
+        Report[] reports = read(write(new Report[]{createReport()}));
+
+        assertThat(reports.length, is(1));
+        Report report = reports[0];
+        assertThat(report.getName(), is("Feature"));
+        assertThat(report.getUri(), is("features/test.feature"));
+        assertThat(report.getLine(), is(1));
+        assertThat(report.getFeatureIndex(), is(3));
+
+        Element element = report.getElements().get(0);
+        assertThat(element.getName(), is("Scenario äöü"));
+        assertThat(element.getType(), is("scenario"));
+        assertThat(element.getScenarioIndex(), is(-1));
+        assertThat(element.getSourceFingerprint(), is(nullValue()));
+        assertThat(element.getTags().get(0).getName(), is("@tag"));
+        assertThat(element.getBefore().get(0).getResult().getDuration(), is(Long.MAX_VALUE));
+        assertThat(element.getAfter().get(0).getResult().getStatus(), is(Status.AMBIGUOUS));
+        assertThat(element.getTotalNumberOfFailedSteps(), is(1));
+
+        Step step = element.getSteps().get(0);
+        assertThat(step.getKeyword(), is("Given "));
+        assertThat(step.getResult().getErrorMessage(), is("Error"));
+        assertThat(step.getMatch().getLocation(), is("Steps.given()"));
+        assertThat(step.getMatch().getArguments().get(0).getVal(), is("value"));
+        assertThat(step.getMatch().getArguments().get(0).getOffset(), is(6));
+        assertThat(step.getRows().get(0).getCells(), is(Arrays.asList("a", "b")));
+        assertThat(step.getOutput(), is(Collections.singletonList("Output")));
+
+        Embedding embedding = step.getEmbeddings().get(0);
+        assertThat(embedding.getData(), is(nullValue()));
+        assertThat(embedding.getMimeType(), is("image/png"));
+        assertThat(embedding.getFilename(), is("attachment.png"));
+    }
+
+    @Test
+    public void sharedStringsTest() throws IOException {
+        Report report1 = createReport();
+        Report report2 = createReport();
+        report2.setName(new String("Feature".toCharArray()));
+
+        byte[] snapshot = write(new Report[]{report1, report2});
+        Report[] reports = read(snapshot);
+        assertThat(reports[1].getName(), is(sameInstance(reports[0].getName())));
+
+        byte[] singleSnapshot = write(new Report[]{report1});
+        assertTrue(snapshot.length < singleSnapshot.length * 2 - 20);
+    }
+
+    @Test
+    public void nullReportsTest() throws IOException {
+        assertThat(read(write(null)), is(nullValue()));
+    }
+
+    @Test
+    public void emptyReportsTest() throws IOException {
+        assertThat(read(write(new Report[0])).length, is(0));
+    }
+
+    private byte[] write(final Report[] reports) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        new ReportSnapshotWriter(outputStream).write(reports);
+        return outputStream.toByteArray();
+    }
+
+    private Report[] read(final byte[] snapshot) throws IOException {
+        return new ReportSnapshotReader(new ByteArrayInputStream(snapshot)).read();
+    }
+
+    private Report createReport() {
+        Argument argument = new Argument();
+        argument.setVal("value");
+        argument.setOffset(6);
+        Match match = new Match();
+        match.setLocation("Steps.given()");
+        match.setArguments(Collections.singletonList(argument));
+
+        Result failedResult = new Result();
+        failedResult.setStatus(Status.FAILED);
+        failedResult.setDuration(1000);
+        failedResult.setErrorMessage("Error");
+
+        Row row = new Row();
+        row.setCells(Arrays.asList("a", "b"));
+
+        Embedding embedding = new Embedding();
+        embedding.setMimeType("image/png");
+        embedding.setFilename("attachment.png");
+
+        Step step = new Step();
+        step.setKeyword("Given ");
+        step.setName("Step");
+        step.setResult(failedResult);
+        step.setMatch(match);
+        step.setRows(Collections.singletonList(row));
+        step.setOutput(Collections.singletonList("Output"));
+        step.setEmbeddings(Collections.singletonList(embedding));
+
+        Result beforeResult = new Result();
+        beforeResult.setStatus(Status.PASSED);
+        beforeResult.setDuration(Long.MAX_VALUE);
+        Before before = new Before();
+        before.setResult(beforeResult);
+
+        Result afterResult = new Result();
+        afterResult.setStatus(Status.AMBIGUOUS);
+        After after = new After();
+        after.setResult(afterResult);
+
+        Tag tag = new Tag();
+        tag.setName("@tag");
+
+        Element element = new Element();
+        element.setName("Scenario äöü");
+        element.setType("scenario");
+        element.setTags(Collections.singletonList(tag));
+        element.setBefore(Collections.singletonList(before));
+        element.setSteps(Collections.singletonList(step));
+        element.setAfter(Collections.singletonList(after));
+
+        List<Element> elements = new ArrayList<>();
+        elements.add(element);
+        Report report = new Report();
+        report.setName("Feature");
+        report.setUri("features/test.feature");
+        report.setLine(1);
+        report.setFeatureIndex(3);
+        report.setElements(elements);
+        return report;
+    }
+}
@@ -0,0 +1,81 @@
+package com.trivago.rta.json.typeadapters;
+
+import com.google.gson.stream.JsonReader;
+import com.trivago.rta.filesystem.AttachmentWriter;
+import com.trivago.rta.json.pojo.Embedding;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class EmbeddingTypeAdapterTest {
+    private EmbeddingTypeAdapter embeddingTypeAdapter;
+    private AttachmentWriter attachmentWriter;
+
+    @Before
+    public void setup() {
+        attachmentWriter = mock(AttachmentWriter.class);
+        when(attachmentWriter.isWrittenToFile(any(Embedding.class), any(CharSequence.class)))
+                .thenAnswer(invocation -> invocation.<Embedding>getArgument(0).isImage());
+        when(attachmentWriter.writeBase64Attachment("123", "image/png")).thenReturn("hash.png");
+        embeddingTypeAdapter = new EmbeddingTypeAdapter(attachmentWriter);
+    }
+
+    @Test
+    public void readImageEmbeddingTest() throws Exception {
+        Embedding embedding = read("{\"data\": \"123\", \"mime_type\": \"image/png\"}");
+
+        assertThat(embedding.getData(), is(nullValue()));
+        assertThat(embedding.getFilename(), is("hash.png"));
+        verify(attachmentWriter).writeBase64Attachment("123", "image/png");
+    }
+
+    @Test
+    public void readTextEmbeddingTest() throws Exception {
+        Embedding embedding = read("{\"mime_type\": \"text/plain\", \"data\": \"Some text\", \"unknown\": 1}");
+
+        assertThat(embedding.getData(), is("Some text"));
+        assertThat(embedding.getMimeType(), is("text/plain"));
+        assertThat(embedding.getFilename(), is(nullValue()));
+        verify(attachmentWriter, never()).writeBase64Attachment(any(CharSequence.class), anyString());
+    }
+
+    @Test
+    public void readLargeTextEmbeddingTest() throws Exception {
+        when(attachmentWriter.isWrittenToFile(any(Embedding.class), any(CharSequence.class))).thenReturn(true);
+        when(attachmentWriter.writeBase64Attachment("TG9nIQ==", "text/plain")).thenReturn("hash.txt");
+        Embedding embedding = read("{\"data\": \"TG9nIQ==\", \"mime_type\": \"text/plain\"}");
+
+        assertThat(embedding.getData(), is(nullValue()));
+        assertThat(embedding.getFilename(), is("hash.txt"));
+    }
+
+    @Test
+    public void readLargeTextEmbeddingErrorTest() throws Exception {
+        when(attachmentWriter.isWrittenToFile(any(Embedding.class), any(CharSequence.class))).thenReturn(true);
+        Embedding embedding = read("{\"data\": \"TG9nIQ==\", \"mime_type\": \"text/plain\"}");
+
+        assertThat(embedding.getData(), is("TG9nIQ=="));
+        assertThat(embedding.getFilename(), is(nullValue()));
+    }
+
+    @Test
+    public void readNullEmbeddingTest() throws Exception {
+        assertThat(read("null"), is(nullValue()));
+    }
+
+    private Embedding read(final String json) throws IOException {
+        return embeddingTypeAdapter.read(new JsonReader(new StringReader(json)));
+    }
+}
@@ -0,0 +1,50 @@
+package com.trivago.rta.json.typeadapters;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.trivago.rta.constants.Status;
+import com.trivago.rta.json.pojo.Result;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+public class StatusTypeAdapterTest {
+
+    private Gson gson;
+
+    @Before
+    public void setup() {
+        gson = new GsonBuilder().registerTypeAdapter(Status.class, new StatusTypeAdapter()).create();
+    }
+
+    @Test
+    public void readStatusTest() {
+        for (Status status : Status.values()) {
+            Result result = gson.fromJson("{\"status\": \"" + status.getStatusString() + "\"}", Result.class);
+            assertThat(result.getStatus(), is(status));
+        }
+    }
+
+    @Test
+    public void readUpperCaseStatusTest() {
+        assertThat(gson.fromJson("{\"status\": \"FAILED\"}", Result.class).getStatus(), is(Status.FAILED));
+    }
+
+    @Test
+    public void readMissingStatusTest() {
+        assertThat(gson.fromJson("{}", Result.class).getStatus(), is(Status.UNDEFINED));
+        assertThat(gson.fromJson("{\"status\": null}", Result.class).getStatus(), is(Status.UNDEFINED));
+    }
+
+    @Test
+    public void readUnknownStatusTest() {
+        assertThat(gson.fromJson("{\"status\": \"unknown\"}", Result.class).getStatus(), is(Status.UNDEFINED));
+    }
+
+    @Test
+    public void writeStatusTest() {
+        assertThat(gson.toJson(Status.PASSED), is("\"passed\""));
+    }
+}
@@ -0,0 +1,64 @@
+package com.trivago.rta.json.typeadapters;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+import com.trivago.rta.json.pojo.Step;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNot.not;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.hamcrest.core.IsSame.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class StringInterningTypeAdapterFactoryTest {
+
+    private StringInterningTypeAdapterFactory stringInterningTypeAdapterFactory;
+
+    @Before
+    public void setup() {
+        stringInterningTypeAdapterFactory = new StringInterningTypeAdapterFactory(10, 2);
+    }
+
+    @Test
+    public void parsedStringsAreSharedTest() {
+        Gson gson = new GsonBuilder().registerTypeAdapterFactory(stringInterningTypeAdapterFactory).create();
+        String json = "{\"keyword\": \"Given \", \"name\": \"Step\", \"output\": [\"Given \"]}";
+        Step step1 = gson.fromJson(json, Step.class);
+        Step step2 = gson.fromJson(json, Step.class);
+        assertThat(step2.getKeyword(), is(sameInstance(step1.getKeyword())));
+        assertThat(step2.getName(), is(sameInstance(step1.getName())));
+        assertThat(step1.getOutput().get(0), is(sameInstance(step1.getKeyword())));
+    }
+
+    @Test
+    public void longStringsAreNotInternedTest() {
+        String value = "This string is too long";
+        stringInterningTypeAdapterFactory.intern(value);
+        String copy = new String(value.toCharArray());
+        assertThat(stringInterningTypeAdapterFactory.intern(copy), is(sameInstance(copy)));
+    }
+
+    @Test
+    public void internTableIsBoundedTest() {
+        String first = stringInterningTypeAdapterFactory.intern("first");
+        stringInterningTypeAdapterFactory.intern("second");
+        String third = new String("third".toCharArray());
+        assertThat(stringInterningTypeAdapterFactory.intern(third), is(sameInstance(third)));
+        assertThat(stringInterningTypeAdapterFactory.intern(new String("third".toCharArray())), is(not(sameInstance(third))));
+        assertThat(stringInterningTypeAdapterFactory.intern(new String("first".toCharArray())), is(sameInstance(first)));
+    }
+
+    @Test
+    public void nullStringTest() {
+        assertThat(stringInterningTypeAdapterFactory.intern(null), is(nullValue()));
+    }
+
+    @Test
+    public void otherTypesAreIgnoredTest() {
+        assertThat(stringInterningTypeAdapterFactory.create(new Gson(), TypeToken.get(Step.class)),
+                is(nullValue()));
+    }
+}
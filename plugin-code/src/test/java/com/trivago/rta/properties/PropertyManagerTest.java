@@ -49,10 +49,121 @@ public class PropertyManagerTest {
         propertyManager.validateSettings();
     }
 
+    @Test
+    public void parsingThreadsTest() {
+        propertyManager.setParsingThreads(4);
+        assertThat(propertyManager.getParsingThreads(), is(4));
+    }
+
+    @Test(expected = WrongOrMissingPropertyException.class)
+    public void invalidParsingThreadsTest() throws Exception {
+        propertyManager.setSourceJsonReportDirectory("test");
+        propertyManager.setGeneratedHtmlReportDirectory("test");
+        propertyManager.setParsingThreads(0);
+        propertyManager.validateSettings();
+    }
+
+    @Test
+    public void prettifyHtmlTest() {
+        assertThat(propertyManager.isPrettifyHtml(), is(false));
+        propertyManager.setPrettifyHtml(true);
+        assertThat(propertyManager.isPrettifyHtml(), is(true));
+    }
+
+    @Test
+    public void deferredRenderingTest() {
+        assertThat(propertyManager.isDeferredRendering(), is(false));
+        propertyManager.setDeferredRendering(true);
+        assertThat(propertyManager.isDeferredRendering(), is(true));
+    }
+
+    @Test
+    public void sharedAssetDirectoryTest() {
+        assertThat(propertyManager.hasSharedAssetDirectory(), is(false));
+        propertyManager.setSharedAssetDirectory(null);
+        assertThat(propertyManager.hasSharedAssetDirectory(), is(false));
+        propertyManager.setSharedAssetDirectory(" ../assets ");
+        assertThat(propertyManager.hasSharedAssetDirectory(), is(true));
+        assertThat(propertyManager.getSharedAssetDirectory(), is("../assets"));
+    }
+
+    @Test
+    public void incrementalGenerationTest() {
+        assertThat(propertyManager.isIncrementalGeneration(), is(false));
+        propertyManager.setIncrementalGeneration(true);
+        assertThat(propertyManager.isIncrementalGeneration(), is(true));
+    }
+
+    @Test
+    public void renderingThreadsTest() {
+        propertyManager.setRenderingThreads(4);
+        assertThat(propertyManager.getRenderingThreads(), is(4));
+    }
+
+    @Test(expected = WrongOrMissingPropertyException.class)
+    public void invalidRenderingThreadsTest() throws Exception {
+        propertyManager.setSourceJsonReportDirectory("test");
+        propertyManager.setGeneratedHtmlReportDirectory("test");
+        propertyManager.setParsingThreads(1);
+        propertyManager.setRenderingThreads(0);
+        propertyManager.validateSettings();
+    }
+
+    @Test
+    public void attachmentWriterTest() {
+        propertyManager.setAttachmentWriterThreads(2);
+        propertyManager.setAttachmentWriterMemory(64);
+        assertThat(propertyManager.getAttachmentWriterThreads(), is(2));
+        assertThat(propertyManager.getAttachmentWriterMemory(), is(64));
+    }
+
+    @Test(expected = WrongOrMissingPropertyException.class)
+    public void invalidAttachmentWriterMemoryTest() throws Exception {
+        propertyManager.setSourceJsonReportDirectory("test");
+        propertyManager.setGeneratedHtmlReportDirectory("test");
+        propertyManager.setParsingThreads(1);
+        propertyManager.setRenderingThreads(1);
+        propertyManager.setAttachmentWriterThreads(2);
+        propertyManager.setAttachmentWriterMemory(0);
+        propertyManager.validateSettings();
+    }
+
+    @Test
+    public void embeddingSizeThresholdTest() {
+        propertyManager.setEmbeddingSizeThreshold(100);
+        assertThat(propertyManager.getEmbeddingSizeThreshold(), is(100));
+    }
+
+    @Test(expected = WrongOrMissingPropertyException.class)
+    public void invalidEmbeddingSizeThresholdTest() throws Exception {
+        propertyManager.setSourceJsonReportDirectory("test");
+        propertyManager.setGeneratedHtmlReportDirectory("test");
+        propertyManager.setParsingThreads(1);
+        propertyManager.setRenderingThreads(1);
+        propertyManager.setEmbeddingSizeThreshold(-1);
+        propertyManager.validateSettings();
+    }
+
+    @Test
+    public void lazyContentThresholdTest() {
+        propertyManager.setLazyContentThreshold(100);
+        assertThat(propertyManager.getLazyContentThreshold(), is(100));
+    }
+
+    @Test(expected = WrongOrMissingPropertyException.class)
+    public void invalidLazyContentThresholdTest() throws Exception {
+        propertyManager.setSourceJsonReportDirectory("test");
+        propertyManager.setGeneratedHtmlReportDirectory("test");
+        propertyManager.setParsingThreads(1);
+        propertyManager.setRenderingThreads(1);
+        propertyManager.setLazyContentThreshold(-1);
+        propertyManager.validateSettings();
+    }
+
     @Test
     public void logBasePropertiesTest() {
         propertyManager.logProperties();
-        verify(logger, times(2)).info(anyString());
+        verify(logger, times(10)).info(anyString());
     }
 
     @Test
@@ -70,7 +181,8 @@ public class PropertyManagerTest {
         customParameters.put("key1", "value1");
         customParameters.put("key2", "value2");
         propertyManager.setCustomParameters(customParameters);
+        propertyManager.setAttachmentWriterThreads(2);
         propertyManager.logProperties();
-        verify(logger, times(4)).info(anyString());
+        verify(logger, times(13)).info(anyString());
     }
 }
@@ -0,0 +1,66 @@
+package com.trivago.rta.rendering;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+public class HtmlIndentingWriterTest {
+
+    @Test
+    public void indentNestedElementsTest() throws IOException {
+        assertThat(prettify("<div>\n<ul>\n<li>Item</li>\n</ul>\n</div>"),
+                is("<div>\n  <ul>\n    <li>Item</li>\n  </ul>\n</div>"));
+    }
+
+    @Test
+    public void removeEmptyLinesAndWhitespaceTest() throws IOException {
+        assertThat(prettify("   <div>\r\n\n      \n        text\n</div>\n"),
+                is("<div>\n  text\n</div>\n"));
+    }
+
+    @Test
+    public void voidAndSelfClosingElementsTest() throws IOException {
+        assertThat(prettify("<div>\n<br>\n<img src=\"a.png\"/>\n<input type=\"text\">\n<p>text</p>\n</div>"),
+                is("<div>\n  <br>\n  <img src=\"a.png\"/>\n  <input type=\"text\">\n  <p>text</p>\n</div>"));
+    }
+
+    @Test
+    public void doctypeAndCommentsTest() throws IOException {
+        assertThat(prettify("<!DOCTYPE html>\n<!-- <div> -->\n<html>\n<body></body>\n</html>"),
+                is("<!DOCTYPE html>\n<!-- <div> -->\n<html>\n  <body></body>\n</html>"));
+    }
+
+    @Test
+    public void quotedAttributesTest() throws IOException {
+        assertThat(prettify("<div title=\"a > b\"\ndata-x='</div>'>\n<span>x</span>\n</div>"),
+                is("<div title=\"a > b\"\ndata-x='</div>'>\n  <span>x</span>\n</div>"));
+    }
+
+    @Test
+    public void multiLineAttributeValuesTest() throws IOException {
+        assertThat(prettify("<div>\n<iframe srcdoc=\"Exception\n    at a.b(C.java:1)\n\n  caused by x\"></iframe>\n<p>x</p>\n</div>"),
+                is("<div>\n  <iframe srcdoc=\"Exception\n    at a.b(C.java:1)\n\n  caused by x\"></iframe>\n  <p>x</p>\n</div>"));
+    }
+
+    @Test
+    public void rawTextElementsTest() throws IOException {
+        assertThat(prettify("<div>\n<pre>\n  line 1\n\n    line 2</pre>\n<script>\n  if (a < b) {}\n</script>\n<p>x</p>\n</div>"),
+                is("<div>\n  <pre>\n  line 1\n\n    line 2</pre>\n  <script>\n  if (a < b) {}\n</script>\n  <p>x</p>\n</div>"));
+    }
+
+    private String prettify(final String html) throws IOException {
+        StringWriter stringWriter = new StringWriter();
+        try (Writer writer = new HtmlIndentingWriter(stringWriter)) {
+            // Write in small chunks to make sure that the state is kept between writes.
+            for (int i = 0; i < html.length(); i += 3) {
+                writer.write(html, i, Math.min(3, html.length() - i));
+            }
+        }
+        return stringWriter.toString();
+    }
+}
@@ -1,25 +1,40 @@
 package com.trivago.rta.rendering;
 
+import com.trivago.rta.exceptions.CluecumberPluginException;
+import com.trivago.rta.filesystem.AssetExporter;
 import com.trivago.rta.filesystem.FileIO;
 import com.trivago.rta.filesystem.FileSystemManager;
+import com.trivago.rta.incremental.ReportManifest;
+import com.trivago.rta.json.FeatureRegistry;
 import com.trivago.rta.json.pojo.Element;
 import com.trivago.rta.json.pojo.Report;
+import com.trivago.rta.json.pojo.Step;
 import com.trivago.rta.logging.CluecumberLogger;
 import com.trivago.rta.properties.PropertyManager;
+import com.trivago.rta.rendering.pages.pojos.pagecollections.DetailFragmentPageCollection;
 import com.trivago.rta.rendering.pages.pojos.pagecollections.DetailPageCollection;
 import com.trivago.rta.rendering.pages.pojos.pagecollections.FeatureSummaryPageCollection;
 import com.trivago.rta.rendering.pages.pojos.pagecollections.ScenarioSummaryPageCollection;
 import com.trivago.rta.rendering.pages.pojos.pagecollections.TagSummaryPageCollection;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 
+import java.io.StringWriter;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.List;
 
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -29,6 +44,8 @@ public class ReportGeneratorTest {
     private TemplateEngine templateEngine;
     private FileIO fileIO;
     private FileSystemManager fileSystemManager;
+    private AssetExporter assetExporter;
+    private PropertyManager propertyManager;
 
     private ReportGenerator reportGenerator;
 
@@ -36,11 +53,14 @@ public class ReportGeneratorTest {
     public void setup() {
         templateEngine = mock(TemplateEngine.class);
         fileSystemManager = mock(FileSystemManager.class);
+        assetExporter = mock(AssetExporter.class);
         fileIO = mock(FileIO.class);
         CluecumberLogger logger = mock(CluecumberLogger.class);
-        PropertyManager propertyManager = new PropertyManager(logger);
+        propertyManager = new PropertyManager(logger);
+        propertyManager.setGeneratedHtmlReportDirectory("dir");
+        propertyManager.setRenderingThreads(4);
         reportGenerator = new ReportGenerator(
-                templateEngine, fileIO, propertyManager, fileSystemManager, logger
+                templateEngine, fileIO, propertyManager, fileSystemManager, assetExporter, new FeatureRegistry(), mock(ReportManifest.class), logger
         );
     }
 
@@ -63,18 +83,116 @@ public class ReportGeneratorTest {
         Report[] reportList = {report1, report2};
         scenarioSummaryPageCollection.addReports(reportList);
 
-        when(templateEngine.getRenderedScenarioSummaryPageContent(scenarioSummaryPageCollection)).thenReturn("RENDERED_START_PAGE_CONTENT");
-        when(templateEngine.getRenderedScenarioDetailPageContent(any(DetailPageCollection.class))).thenReturn("RENDERED_DETAIL_PAGE_CONTENT");
-        when(templateEngine.getRenderedTagSummaryPageContent(any(TagSummaryPageCollection.class))).thenReturn("RENDERED_TAG_PAGE_CONTENT");
-        when(templateEngine.getRenderedFeatureSummaryPageContent(any(FeatureSummaryPageCollection.class))).thenReturn("RENDERED_FEATURE_PAGE_CONTENT");
+        when(fileIO.createFileWriter(anyString())).thenAnswer(invocation -> new StringWriter());
 
         reportGenerator.generateReport(scenarioSummaryPageCollection);
 
-        verify(fileSystemManager, times(6)).createDirectory(anyString());
-        verify(fileSystemManager, times(11)).exportResource(any(Class.class), anyString(), anyString());
-        verify(fileIO, times(1)).writeContentToFile(eq("RENDERED_START_PAGE_CONTENT"), anyString());
-        verify(fileIO, times(2)).writeContentToFile(eq("RENDERED_DETAIL_PAGE_CONTENT"), anyString());
-        verify(fileIO, times(1)).writeContentToFile(eq("RENDERED_TAG_PAGE_CONTENT"), anyString());
-        verify(fileIO, times(1)).writeContentToFile(eq("RENDERED_FEATURE_PAGE_CONTENT"), anyString());
+        verify(fileSystemManager, times(5)).createDirectory(anyString());
+        verify(assetExporter, times(1)).exportAssets(any(Class.class), anyString(), anyList(), eq("dir"));
+        verify(templateEngine, times(1)).setAssetBase("");
+        verify(templateEngine, times(1)).setDeferredRendering(false);
+        verify(fileIO, times(6)).createFileWriter(anyString());
+        verify(templateEngine, times(1)).renderScenarioSummaryPageContent(eq(scenarioSummaryPageCollection), any(Writer.class));
+        verify(templateEngine, times(2)).renderScenarioDetailPageContent(any(DetailPageCollection.class), any(Writer.class));
+        verify(templateEngine, times(1)).renderTagSummaryPageContent(any(TagSummaryPageCollection.class), any(Writer.class));
+        verify(templateEngine, times(1)).renderFeatureSummaryPageContent(any(FeatureSummaryPageCollection.class), any(Writer.class));
+    }
+
+    @Test
+    public void sharedAssetDirectoryTest() throws Exception {
+        propertyManager.setSharedAssetDirectory("shared");
+        reportGenerator.generateReport(new ScenarioSummaryPageCollection());
+        verify(assetExporter, times(1)).exportAssets(any(Class.class), anyString(), anyList(), eq("shared"));
+        verify(templateEngine, times(1)).setAssetBase("../shared/");
+    }
+
+    @Test
+    public void deferredRenderingTest() throws Exception {
+        propertyManager.setDeferredRendering(true);
+        ScenarioSummaryPageCollection scenarioSummaryPageCollection = new ScenarioSummaryPageCollection();
+
+        Report report = new Report();
+        List<Element> elements = new ArrayList<>();
+        elements.add(new Element());
+        report.setElements(elements);
+        report.setFeatureIndex(0);
+        scenarioSummaryPageCollection.addReports(new Report[]{report});
+
+        when(fileIO.createFileWriter(anyString())).thenAnswer(invocation -> new StringWriter());
+
+        reportGenerator.generateReport(scenarioSummaryPageCollection);
+
+        verify(templateEngine, times(1)).setDeferredRendering(true);
+        verify(templateEngine, times(2)).renderScenarioSummaryData(any(ScenarioSummaryPageCollection.class), any(Writer.class));
+        verify(fileIO, times(1)).createFileWriter("dir/index.js");
+        verify(fileIO, times(1)).createFileWriter("dir/pages/feature-scenarios/feature_0.js");
+
+        // The feature page and its data file are rendered from the same filtered view.
+        ArgumentCaptor<ScenarioSummaryPageCollection> filteredView = ArgumentCaptor.forClass(ScenarioSummaryPageCollection.class);
+        verify(templateEngine, times(1)).renderFilteredScenarioSummaryPageContent(filteredView.capture(), any(Writer.class));
+        verify(templateEngine, times(1)).renderScenarioSummaryData(same(filteredView.getValue()), any(Writer.class));
+    }
+
+    @Test
+    public void lazyContentTest() throws Exception {
+        propertyManager.setLazyContentThreshold(1);
+        ScenarioSummaryPageCollection scenarioSummaryPageCollection = new ScenarioSummaryPageCollection();
+
+        Report report = new Report();
+        List<Element> elements = new ArrayList<>();
+        elements.add(createElement(0, new String(new char[1025])));
+        elements.add(createElement(1, "small output"));
+        report.setElements(elements);
+        scenarioSummaryPageCollection.addReports(new Report[]{report});
+
+        when(fileIO.createFileWriter(anyString())).thenAnswer(invocation -> new StringWriter());
+        ArgumentCaptor<DetailPageCollection> detailPageCollections = ArgumentCaptor.forClass(DetailPageCollection.class);
+
+        reportGenerator.generateReport(scenarioSummaryPageCollection);
+
+        verify(templateEngine, times(2)).renderScenarioDetailPageContent(detailPageCollections.capture(), any(Writer.class));
+        verify(templateEngine, times(1)).renderScenarioDetailFragmentContent(any(DetailFragmentPageCollection.class), any(Writer.class));
+        verify(fileIO, times(1)).createFileWriter("dir/pages/scenario-detail/scenario_0/step_1.html");
+        verify(fileSystemManager, times(1)).createDirectory("dir/pages/scenario-detail/scenario_0");
+        long lazyPages = detailPageCollections.getAllValues().stream().filter(DetailPageCollection::isLazyContent).count();
+        assertThat(lazyPages, is(1L));
+    }
+
+    @Test(expected = CluecumberPluginException.class)
+    public void failingPageTest() throws Exception {
+        ScenarioSummaryPageCollection scenarioSummaryPageCollection = new ScenarioSummaryPageCollection();
+        List<Report> reports = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Report report = new Report();
+            List<Element> elements = new ArrayList<>();
+            elements.add(new Element());
+            report.setElements(elements);
+            reports.add(report);
+        }
+        scenarioSummaryPageCollection.addReports(reports.toArray(new Report[0]));
+
+        when(fileIO.createFileWriter(anyString())).thenAnswer(invocation -> new StringWriter());
+        doThrow(new CluecumberPluginException("Rendering failed"))
+                .when(templateEngine).renderScenarioDetailPageContent(any(DetailPageCollection.class), any(Writer.class));
+
+        try {
+            reportGenerator.generateReport(scenarioSummaryPageCollection);
+        } finally {
+            verify(templateEngine, never()).renderScenarioSummaryPageContent(eq(scenarioSummaryPageCollection), any(Writer.class));
+        }
+    }
+
+    private Element createElement(final int scenarioIndex, final String output) {
+        Element element = new Element();
+        element.setScenarioIndex(scenarioIndex);
+        List<Step> steps = new ArrayList<>();
+        steps.add(new Step());
+        Step step = new Step();
+        List<String> outputs = new ArrayList<>();
+        outputs.add(output);
+        step.setOutput(outputs);
+        steps.add(step);
+        element.setSteps(steps);
+        return element;
     }
 }
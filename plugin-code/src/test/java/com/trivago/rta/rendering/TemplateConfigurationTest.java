@@ -1,9 +1,24 @@
 package com.trivago.rta.rendering;
 
+import com.trivago.rta.constants.PluginSettings;
 import com.trivago.rta.exceptions.CluecumberPluginException;
+import com.trivago.rta.json.pojo.Element;
+import com.trivago.rta.json.pojo.Embedding;
+import com.trivago.rta.json.pojo.Result;
+import com.trivago.rta.json.pojo.Step;
+import com.trivago.rta.rendering.pages.pojos.pagecollections.DetailPageCollection;
+import com.trivago.rta.rendering.pages.renderers.ScenarioDetailPageRenderer;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
 public class TemplateConfigurationTest {
 
     private TemplateConfiguration templateConfiguration;
@@ -22,4 +37,30 @@ public class TemplateConfigurationTest {
     public void getNonexistentTemplateTest() throws CluecumberPluginException {
         templateConfiguration.getTemplate("testTemplate");
     }
+
+    @Test
+    public void renderUnstoredAttachmentsTest() throws CluecumberPluginException {
+        templateConfiguration.init(TemplateEngine.class, PluginSettings.BASE_TEMPLATE_PATH);
+
+        List<Embedding> embeddings = new ArrayList<>();
+        Embedding image = new Embedding();
+        image.setMimeType("image/png");
+        embeddings.add(image);
+        Embedding text = new Embedding();
+        text.setMimeType("text/plain");
+        text.setData("inline text");
+        embeddings.add(text);
+
+        Step step = new Step();
+        step.setResult(new Result());
+        step.setEmbeddings(embeddings);
+        Element element = new Element();
+        element.setSteps(Collections.singletonList(step));
+
+        StringWriter writer = new StringWriter();
+        new ScenarioDetailPageRenderer().renderContent(new DetailPageCollection(element),
+                templateConfiguration.getTemplate(PluginSettings.SCENARIO_DETAIL_TEMPLATE), writer);
+        assertThat(writer.toString().contains("attachments/"), is(false));
+        assertThat(writer.toString().contains("inline text"), is(true));
+    }
 }
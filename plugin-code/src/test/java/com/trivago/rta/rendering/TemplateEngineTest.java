@@ -2,6 +2,9 @@ package com.trivago.rta.rendering;
 
 import com.trivago.rta.constants.PluginSettings;
 import com.trivago.rta.exceptions.CluecumberPluginException;
+import com.trivago.rta.json.FeatureRegistry;
+import com.trivago.rta.properties.PropertyManager;
+import com.trivago.rta.rendering.pages.pojos.pagecollections.DetailFragmentPageCollection;
 import com.trivago.rta.rendering.pages.pojos.pagecollections.DetailPageCollection;
 import com.trivago.rta.rendering.pages.pojos.pagecollections.FeatureSummaryPageCollection;
 import com.trivago.rta.rendering.pages.pojos.pagecollections.ScenarioSummaryPageCollection;
@@ -13,10 +16,18 @@ import com.trivago.rta.rendering.pages.renderers.TagSummaryPageRenderer;
 import freemarker.template.Template;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.stubbing.Answer;
+
+import java.io.StringWriter;
+import java.io.Writer;
 
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class TemplateEngineTest {
@@ -25,6 +36,7 @@ public class TemplateEngineTest {
     private TagSummaryPageRenderer tagSummaryPageRenderer;
     private ScenarioDetailPageRenderer scenarioDetailPageRenderer;
     private ScenarioSummaryPageRenderer scenarioSummaryPageRenderer;
+    private PropertyManager propertyManager;
 
     private TemplateEngine templateEngine;
 
@@ -35,33 +47,37 @@ public class TemplateEngineTest {
         tagSummaryPageRenderer = mock(TagSummaryPageRenderer.class);
         scenarioDetailPageRenderer = mock(ScenarioDetailPageRenderer.class);
         scenarioSummaryPageRenderer = mock(ScenarioSummaryPageRenderer.class);
+        propertyManager = mock(PropertyManager.class);
         templateEngine = new TemplateEngine(
                 templateConfiguration,
                 featureSummaryPageRenderer,
                 tagSummaryPageRenderer,
                 scenarioDetailPageRenderer,
-                scenarioSummaryPageRenderer
+                scenarioSummaryPageRenderer,
+                propertyManager
         );
     }
 
     @Test
     public void getRenderedFeatureSummaryPageTest() throws CluecumberPluginException {
-        FeatureSummaryPageCollection featureSummaryPageCollection = new FeatureSummaryPageCollection(null);
+        FeatureSummaryPageCollection featureSummaryPageCollection = new FeatureSummaryPageCollection(new ScenarioSummaryPageCollection(), new FeatureRegistry());
         Template template = mock(Template.class);
         when(templateConfiguration.getTemplate(PluginSettings.FEATURE_SUMMARY_TEMPLATE)).thenReturn(template);
-        when(featureSummaryPageRenderer.getRenderedContent(featureSummaryPageCollection, template)).thenReturn("FEATURE_PAGE_CONTENT");
-        String renderedFeatureSummaryPage = templateEngine.getRenderedFeatureSummaryPageContent(featureSummaryPageCollection);
-        assertThat(renderedFeatureSummaryPage, is("<html>\n <head></head>\n <body>\n  FEATURE_PAGE_CONTENT\n </body>\n</html>"));
+        doAnswer(writeContent("FEATURE_PAGE_CONTENT", 2)).when(featureSummaryPageRenderer).renderContent(eq(featureSummaryPageCollection), eq(template), any(Writer.class));
+        StringWriter stringWriter = new StringWriter();
+        templateEngine.renderFeatureSummaryPageContent(featureSummaryPageCollection, stringWriter);
+        assertThat(stringWriter.toString(), is("FEATURE_PAGE_CONTENT"));
     }
 
     @Test
     public void getRenderedTagSummaryPageTest() throws CluecumberPluginException {
-        TagSummaryPageCollection tagSummaryPageCollection = new TagSummaryPageCollection(null);
+        TagSummaryPageCollection tagSummaryPageCollection = new TagSummaryPageCollection(new ScenarioSummaryPageCollection());
         Template template = mock(Template.class);
         when(templateConfiguration.getTemplate(PluginSettings.TAG_SUMMARY_TEMPLATE)).thenReturn(template);
-        when(tagSummaryPageRenderer.getRenderedContent(tagSummaryPageCollection, template)).thenReturn("TAG_PAGE_CONTENT");
-        String renderedTagSummaryPage = templateEngine.getRenderedTagSummaryPageContent(tagSummaryPageCollection);
-        assertThat(renderedTagSummaryPage, is("<html>\n <head></head>\n <body>\n  TAG_PAGE_CONTENT\n </body>\n</html>"));
+        doAnswer(writeContent("TAG_PAGE_CONTENT", 2)).when(tagSummaryPageRenderer).renderContent(eq(tagSummaryPageCollection), eq(template), any(Writer.class));
+        StringWriter stringWriter = new StringWriter();
+        templateEngine.renderTagSummaryPageContent(tagSummaryPageCollection, stringWriter);
+        assertThat(stringWriter.toString(), is("TAG_PAGE_CONTENT"));
     }
 
     @Test
@@ -69,9 +85,21 @@ public class TemplateEngineTest {
         DetailPageCollection detailPageCollection = new DetailPageCollection(null);
         Template template = mock(Template.class);
         when(templateConfiguration.getTemplate(PluginSettings.SCENARIO_DETAIL_TEMPLATE)).thenReturn(template);
-        when(scenarioDetailPageRenderer.getRenderedContent(detailPageCollection, template)).thenReturn("DETAIL_PAGE_CONTENT");
-        String renderedDetailPage = templateEngine.getRenderedScenarioDetailPageContent(detailPageCollection);
-        assertThat(renderedDetailPage, is("<html>\n <head></head>\n <body>\n  DETAIL_PAGE_CONTENT\n </body>\n</html>"));
+        doAnswer(writeContent("DETAIL_PAGE_CONTENT", 2)).when(scenarioDetailPageRenderer).renderContent(eq(detailPageCollection), eq(template), any(Writer.class));
+        StringWriter stringWriter = new StringWriter();
+        templateEngine.renderScenarioDetailPageContent(detailPageCollection, stringWriter);
+        assertThat(stringWriter.toString(), is("DETAIL_PAGE_CONTENT"));
+    }
+
+    @Test
+    public void getRenderedDetailFragmentTest() throws CluecumberPluginException {
+        DetailFragmentPageCollection detailFragmentPageCollection = new DetailFragmentPageCollection(null, null);
+        Template template = mock(Template.class);
+        when(templateConfiguration.getTemplate(PluginSettings.SCENARIO_DETAIL_FRAGMENT_TEMPLATE)).thenReturn(template);
+        doAnswer(writeContent("DETAIL_FRAGMENT_CONTENT", 2)).when(scenarioDetailPageRenderer).renderFragmentContent(eq(detailFragmentPageCollection), eq(template), any(Writer.class));
+        StringWriter stringWriter = new StringWriter();
+        templateEngine.renderScenarioDetailFragmentContent(detailFragmentPageCollection, stringWriter);
+        assertThat(stringWriter.toString(), is("DETAIL_FRAGMENT_CONTENT"));
     }
 
     @Test
@@ -79,8 +107,64 @@ public class TemplateEngineTest {
         ScenarioSummaryPageCollection scenarioSummaryPageCollection = new ScenarioSummaryPageCollection();
         Template template = mock(Template.class);
         when(templateConfiguration.getTemplate(PluginSettings.SCENARIO_SUMMARY_TEMPLATE)).thenReturn(template);
-        when(scenarioSummaryPageRenderer.getRenderedContent(scenarioSummaryPageCollection, template)).thenReturn("START_PAGE_CONTENT");
-        String renderedStartPage = templateEngine.getRenderedScenarioSummaryPageContent(scenarioSummaryPageCollection);
-        assertThat(renderedStartPage, is("<html>\n <head></head>\n <body>\n  START_PAGE_CONTENT\n </body>\n</html>"));
+        doAnswer(writeContent("START_PAGE_CONTENT", 2)).when(scenarioSummaryPageRenderer).renderContent(eq(scenarioSummaryPageCollection), eq(template), any(Writer.class));
+        StringWriter stringWriter = new StringWriter();
+        templateEngine.renderScenarioSummaryPageContent(scenarioSummaryPageCollection, stringWriter);
+        assertThat(stringWriter.toString(), is("START_PAGE_CONTENT"));
+    }
+
+    @Test
+    public void getRenderedFilteredPageTest() throws CluecumberPluginException {
+        ScenarioSummaryPageCollection filteredView = new ScenarioSummaryPageCollection();
+        Template template = mock(Template.class);
+        when(templateConfiguration.getTemplate(PluginSettings.SCENARIO_SUMMARY_TEMPLATE)).thenReturn(template);
+        doAnswer(writeContent("FILTERED_PAGE_CONTENT", 2)).when(scenarioSummaryPageRenderer).renderFilteredContent(eq(filteredView), eq(template), any(Writer.class));
+        StringWriter stringWriter = new StringWriter();
+        templateEngine.renderFilteredScenarioSummaryPageContent(filteredView, stringWriter);
+        assertThat(stringWriter.toString(), is("FILTERED_PAGE_CONTENT"));
+    }
+
+    @Test
+    public void setAssetBaseTest() {
+        templateEngine.setAssetBase("../shared/");
+        verify(templateConfiguration).setAssetBase("../shared/");
+    }
+
+    @Test
+    public void setDeferredRenderingTest() {
+        templateEngine.setDeferredRendering(true);
+        verify(templateConfiguration).setDeferredRendering(true);
+    }
+
+    @Test
+    public void getRenderedScenarioSummaryDataTest() throws CluecumberPluginException {
+        when(propertyManager.isPrettifyHtml()).thenReturn(true);
+        ScenarioSummaryPageCollection scenarioSummaryPageCollection = new ScenarioSummaryPageCollection();
+        doAnswer(writeContent("var scenarioData = {};", 1))
+                .when(scenarioSummaryPageRenderer).renderScenarioData(eq(scenarioSummaryPageCollection), any(Writer.class));
+        StringWriter stringWriter = new StringWriter();
+        templateEngine.renderScenarioSummaryData(scenarioSummaryPageCollection, stringWriter);
+        assertThat(stringWriter.toString(), is("var scenarioData = {};"));
+    }
+
+    @Test
+    public void getPrettifiedDetailPageTest() throws CluecumberPluginException {
+        when(propertyManager.isPrettifyHtml()).thenReturn(true);
+        DetailPageCollection detailPageCollection = new DetailPageCollection(null);
+        Template template = mock(Template.class);
+        when(templateConfiguration.getTemplate(PluginSettings.SCENARIO_DETAIL_TEMPLATE)).thenReturn(template);
+        doAnswer(writeContent("<html>\n<body>\n\n    <div>DETAIL_PAGE_CONTENT</div>\n</body>\n</html>", 2))
+                .when(scenarioDetailPageRenderer).renderContent(eq(detailPageCollection), eq(template), any(Writer.class));
+        StringWriter stringWriter = new StringWriter();
+        templateEngine.renderScenarioDetailPageContent(detailPageCollection, stringWriter);
+        assertThat(stringWriter.toString(), is("<html>\n  <body>\n    <div>DETAIL_PAGE_CONTENT</div>\n  </body>\n</html>"));
+    }
+
+    private Answer<Void> writeContent(final String content, final int writerArgumentIndex) {
+        return invocation -> {
+            Writer writer = invocation.getArgument(writerArgumentIndex);
+            writer.write(content);
+            return null;
+        };
     }
 }
@@ -0,0 +1,57 @@
+package com.trivago.rta.rendering.pages.pojos;
+
+import com.trivago.rta.constants.Status;
+import com.trivago.rta.json.pojo.Element;
+import com.trivago.rta.json.pojo.Result;
+import com.trivago.rta.json.pojo.Step;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+public class ScenarioStatisticsTest {
+    private ScenarioStatistics scenarioStatistics;
+
+    @Before
+    public void setup() {
+        scenarioStatistics = new ScenarioStatistics();
+    }
+
+    @Test
+    public void emptyStatisticsTest() {
+        assertThat(scenarioStatistics.getTotalNumberOfScenarios(), is(0));
+        assertThat(scenarioStatistics.getNumberOfElementsWithStatus(Status.PASSED), is(0));
+        assertThat(scenarioStatistics.getTotalDuration(), is(0L));
+    }
+
+    @Test
+    public void addElementTest() {
+        scenarioStatistics.addElement(getElement("scenario", Status.PASSED, 1000));
+        scenarioStatistics.addElement(getElement("scenario", Status.FAILED, 2000));
+        scenarioStatistics.addElement(getElement("background", Status.PASSED, 500));
+
+        assertThat(scenarioStatistics.getTotalNumberOfScenarios(), is(2));
+        assertThat(scenarioStatistics.getNumberOfElementsWithStatus(Status.PASSED), is(2));
+        assertThat(scenarioStatistics.getNumberOfElementsWithStatus(Status.FAILED), is(1));
+        assertThat(scenarioStatistics.getNumberOfElementsWithStatus(Status.SKIPPED), is(0));
+        assertThat(scenarioStatistics.getTotalDuration(), is(3500L));
+    }
+
+    private Element getElement(final String type, final Status status, final long duration) {
+        Element element = new Element();
+        element.setType(type);
+        List<Step> steps = new ArrayList<>();
+        Step step = new Step();
+        Result result = new Result();
+        result.setStatus(status);
+        result.setDuration(duration);
+        step.setResult(result);
+        steps.add(step);
+        element.setSteps(steps);
+        return element;
+    }
+}
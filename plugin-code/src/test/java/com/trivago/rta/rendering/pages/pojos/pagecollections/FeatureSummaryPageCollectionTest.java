@@ -1,12 +1,11 @@
 package com.trivago.rta.rendering.pages.pojos.pagecollections;
 
+import com.trivago.rta.json.FeatureRegistry;
 import com.trivago.rta.json.pojo.Report;
 import com.trivago.rta.rendering.pages.pojos.Feature;
 import com.trivago.rta.rendering.pages.pojos.ResultCount;
 import org.junit.Test;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Map;
 
 import static org.hamcrest.core.Is.is;
@@ -17,9 +16,22 @@ public class FeatureSummaryPageCollectionTest {
 
     @Test
     public void getEmptyTagStatsTest() {
-        List<Report> reports = new ArrayList<>();
-        featureSummaryPageCollection = new FeatureSummaryPageCollection(reports);
+        featureSummaryPageCollection = new FeatureSummaryPageCollection(new ScenarioSummaryPageCollection(), new FeatureRegistry());
         Map<Feature, ResultCount> featureStats = featureSummaryPageCollection.getFeatureResultCounts();
         assertThat(featureStats.size(), is(0));
     }
+
+    @Test
+    public void getRegisteredFeatureStatsTest() {
+        FeatureRegistry featureRegistry = new FeatureRegistry();
+        Feature feature = featureRegistry.register("Feature");
+        Report report = new Report();
+        report.setName("Feature");
+        report.setFeatureIndex(feature.getIndex());
+        ScenarioSummaryPageCollection scenarioSummaryPageCollection = new ScenarioSummaryPageCollection();
+        scenarioSummaryPageCollection.addReports(new Report[]{report, report});
+        featureSummaryPageCollection = new FeatureSummaryPageCollection(scenarioSummaryPageCollection, featureRegistry);
+        assertThat(featureSummaryPageCollection.getTotalNumberOfFeatures(), is(1));
+        assertThat(featureSummaryPageCollection.getFeatures().iterator().next() == feature, is(true));
+    }
 }
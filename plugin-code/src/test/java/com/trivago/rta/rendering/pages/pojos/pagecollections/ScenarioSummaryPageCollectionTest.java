@@ -1,14 +1,18 @@
 package com.trivago.rta.rendering.pages.pojos.pagecollections;
 
+import com.trivago.rta.constants.Status;
 import com.trivago.rta.json.pojo.Element;
 import com.trivago.rta.json.pojo.Report;
 import com.trivago.rta.json.pojo.Result;
 import com.trivago.rta.json.pojo.Step;
+import com.trivago.rta.json.pojo.Tag;
 import com.trivago.rta.rendering.pages.pojos.CustomParameter;
+import com.trivago.rta.rendering.pages.pojos.Feature;
 import org.junit.Before;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import static org.hamcrest.core.Is.is;
@@ -76,7 +80,7 @@ public class ScenarioSummaryPageCollectionTest {
         List<Step> steps = new ArrayList<>();
         Step step = new Step();
         Result result = new Result();
-        result.setStatus("failed");
+        result.setStatus(Status.FAILED);
         step.setResult(result);
         steps.add(step);
         element.setSteps(steps);
@@ -103,7 +107,7 @@ public class ScenarioSummaryPageCollectionTest {
         List<Step> steps = new ArrayList<>();
         Step step = new Step();
         Result result = new Result();
-        result.setStatus("passed");
+        result.setStatus(Status.PASSED);
         step.setResult(result);
         steps.add(step);
         element.setSteps(steps);
@@ -130,7 +134,7 @@ public class ScenarioSummaryPageCollectionTest {
         List<Step> steps = new ArrayList<>();
         Step step = new Step();
         Result result = new Result();
-        result.setStatus("skipped");
+        result.setStatus(Status.SKIPPED);
         step.setResult(result);
         steps.add(step);
         element.setSteps(steps);
@@ -153,4 +157,98 @@ public class ScenarioSummaryPageCollectionTest {
         scenarioSummaryPageCollection.setCustomParameters(customParameters);
         assertThat(scenarioSummaryPageCollection.hasCustomParameters(), is(true));
     }
+
+    @Test
+    public void getTagFilteredViewTest() {
+        Tag tag = new Tag();
+        tag.setName("@tag");
+        Report report = new Report();
+        List<Element> elements = new ArrayList<>();
+        Element taggedElement = new Element();
+        List<Tag> tags = new ArrayList<>();
+        tags.add(tag);
+        tags.add(tag);
+        taggedElement.setTags(tags);
+        elements.add(taggedElement);
+        elements.add(new Element());
+        report.setElements(elements);
+        scenarioSummaryPageCollection.addReports(new Report[]{report, new Report()});
+
+        ScenarioSummaryPageCollection view = scenarioSummaryPageCollection.getTagFilteredView(tag);
+        assertThat(view.getTagFilter(), is(tag));
+        assertThat(view.getReports().size(), is(1));
+        assertThat(view.getReports().get(0).getElements().size(), is(1));
+        assertThat(view.getReports().get(0).getElements().get(0) == taggedElement, is(true));
+        assertThat(report.getElements().size(), is(2));
+    }
+
+    @Test
+    public void getFeatureFilteredViewTest() {
+        Report report1 = new Report();
+        report1.setFeatureIndex(0);
+        report1.setElements(Collections.singletonList(new Element()));
+        Report report2 = new Report();
+        report2.setFeatureIndex(1);
+        report2.setElements(Collections.singletonList(new Element()));
+        scenarioSummaryPageCollection.addReports(new Report[]{report1, report2});
+
+        Feature feature = new Feature("feature", 1);
+        ScenarioSummaryPageCollection view = scenarioSummaryPageCollection.getFeatureFilteredView(feature);
+        assertThat(view.getFeatureFilter(), is(feature));
+        assertThat(view.getReports().size(), is(1));
+        assertThat(view.getReports().get(0) == report2, is(true));
+        assertThat(scenarioSummaryPageCollection.getFeatureFilteredView(new Feature("unknown", 2)).getReports().size(), is(0));
+    }
+
+    @Test
+    public void clearReportsTest() {
+        Report report = new Report();
+        report.setFeatureIndex(0);
+        scenarioSummaryPageCollection.addReports(new Report[]{report});
+        scenarioSummaryPageCollection.clearReports();
+        assertThat(scenarioSummaryPageCollection.getStatistics().getNumberOfElementsWithStatus(Status.SKIPPED), is(0));
+        assertThat(scenarioSummaryPageCollection.getFeatureFilteredView(new Feature("feature", 0)).getReports().size(), is(0));
+    }
+
+    @Test
+    public void filteredViewCountsTest() {
+        Tag tag = new Tag();
+        tag.setName("@tag");
+        List<Tag> tags = new ArrayList<>();
+        tags.add(tag);
+
+        Report report = new Report();
+        List<Element> elements = new ArrayList<>();
+        elements.add(getElement(Status.FAILED, tags));
+        elements.add(getElement(Status.PASSED, new ArrayList<>()));
+        elements.add(getElement(Status.PASSED, tags));
+        report.setElements(elements);
+        scenarioSummaryPageCollection.addReports(new Report[]{report});
+
+        ScenarioSummaryPageCollection view = scenarioSummaryPageCollection.getTagFilteredView(tag);
+        assertThat(view.getTotalNumberOfScenarios(), is(2));
+        assertThat(view.getTotalNumberOfPassedScenarios(), is(1));
+        assertThat(view.getTotalNumberOfFailedScenarios(), is(1));
+        assertThat(view.getTotalDuration(), is(2L));
+        assertThat(scenarioSummaryPageCollection.getTotalNumberOfScenarios(), is(3));
+        assertThat(scenarioSummaryPageCollection.getTotalNumberOfPassedScenarios(), is(2));
+        assertThat(scenarioSummaryPageCollection.getTotalDuration(), is(3L));
+        assertThat(scenarioSummaryPageCollection.getResultCountsByTag().get(tag).getTotal(), is(2));
+        assertThat(scenarioSummaryPageCollection.getResultCountsByFeatureIndex().get(-1).getPassed(), is(2));
+    }
+
+    private Element getElement(final Status status, final List<Tag> tags) {
+        Element element = new Element();
+        element.setType("scenario");
+        element.setTags(tags);
+        List<Step> steps = new ArrayList<>();
+        Step step = new Step();
+        Result result = new Result();
+        result.setStatus(status);
+        result.setDuration(1);
+        step.setResult(result);
+        steps.add(step);
+        element.setSteps(steps);
+        return element;
+    }
 }
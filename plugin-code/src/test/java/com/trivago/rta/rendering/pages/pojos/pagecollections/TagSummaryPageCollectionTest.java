@@ -21,15 +21,14 @@ public class TagSummaryPageCollectionTest {
 
     @Test
     public void getEmptyTagStatsTest() {
-        List<Report> reports = new ArrayList<>();
-        tagSummaryPageCollection = new TagSummaryPageCollection(reports);
+        tagSummaryPageCollection = new TagSummaryPageCollection(new ScenarioSummaryPageCollection());
         Map<Tag, ResultCount> tagStats = tagSummaryPageCollection.getTagResultCounts();
         assertThat(tagStats.size(), is(0));
     }
 
     @Test
     public void getTagStatsTest() {
-        tagSummaryPageCollection = new TagSummaryPageCollection(getTestReports());
+        tagSummaryPageCollection = new TagSummaryPageCollection(getTestCollection());
         Map<Tag, ResultCount> tagStats = tagSummaryPageCollection.getTagResultCounts();
         assertThat(tagStats.size(), is(3));
 
@@ -60,15 +59,14 @@ public class TagSummaryPageCollectionTest {
 
     @Test
     public void getTagResultsTest(){
-        tagSummaryPageCollection = new TagSummaryPageCollection(getTestReports());
+        tagSummaryPageCollection = new TagSummaryPageCollection(getTestCollection());
         assertThat(tagSummaryPageCollection.getTotalNumberOfTags(), is(3));
         assertThat(tagSummaryPageCollection.getTotalNumberOfFailedTags(), is(2));
         assertThat(tagSummaryPageCollection.getTotalNumberOfPassedTags(), is(1));
         assertThat(tagSummaryPageCollection.getTotalNumberOfSkippedTags(), is(1));
     }
 
-    private List<Report> getTestReports() {
-        List<Report> reports = new ArrayList<>();
+    private ScenarioSummaryPageCollection getTestCollection() {
 
         Report report = new Report();
         List<Element> elements = new ArrayList<>();
@@ -85,7 +83,7 @@ public class TagSummaryPageCollectionTest {
         List<Step> steps = new ArrayList<>();
         Step step = new Step();
         Result result = new Result();
-        result.setStatus(Status.FAILED.getStatusString());
+        result.setStatus(Status.FAILED);
         step.setResult(result);
         steps.add(step);
         element.setSteps(steps);
@@ -101,7 +99,7 @@ public class TagSummaryPageCollectionTest {
         steps = new ArrayList<>();
         step = new Step();
         result = new Result();
-        result.setStatus(Status.PASSED.getStatusString());
+        result.setStatus(Status.PASSED);
         step.setResult(result);
         steps.add(step);
         element.setSteps(steps);
@@ -117,14 +115,15 @@ public class TagSummaryPageCollectionTest {
         steps = new ArrayList<>();
         step = new Step();
         result = new Result();
-        result.setStatus(Status.SKIPPED.getStatusString());
+        result.setStatus(Status.SKIPPED);
         step.setResult(result);
         steps.add(step);
         element.setSteps(steps);
         elements.add(element);
         report.setElements(elements);
 
-        reports.add(report);
-        return reports;
+        ScenarioSummaryPageCollection scenarioSummaryPageCollection = new ScenarioSummaryPageCollection();
+        scenarioSummaryPageCollection.addReports(new Report[]{report});
+        return scenarioSummaryPageCollection;
     }
 }
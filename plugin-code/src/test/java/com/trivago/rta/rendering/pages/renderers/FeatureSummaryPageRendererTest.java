@@ -1,14 +1,15 @@
 package com.trivago.rta.rendering.pages.renderers;
 
 import com.trivago.rta.exceptions.CluecumberPluginException;
+import com.trivago.rta.json.FeatureRegistry;
 import com.trivago.rta.json.pojo.Report;
 import com.trivago.rta.rendering.pages.pojos.pagecollections.FeatureSummaryPageCollection;
+import com.trivago.rta.rendering.pages.pojos.pagecollections.ScenarioSummaryPageCollection;
 import freemarker.template.Template;
 import org.junit.Before;
 import org.junit.Test;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.io.StringWriter;
 
 import static org.mockito.Mockito.mock;
 
@@ -24,10 +25,9 @@ public class FeatureSummaryPageRendererTest {
     @Test
     public void testContentRendering() throws CluecumberPluginException {
         Template template = mock(Template.class);
-        Report report = new Report();
-        List<Report> reports = new ArrayList<>();
-        reports.add(report);
-        FeatureSummaryPageCollection featureSummaryPageCollection = new FeatureSummaryPageCollection(reports);
-        featureSummaryPageRenderer.getRenderedContent(featureSummaryPageCollection, template);
+        ScenarioSummaryPageCollection scenarioSummaryPageCollection = new ScenarioSummaryPageCollection();
+        scenarioSummaryPageCollection.addReports(new Report[]{new Report()});
+        FeatureSummaryPageCollection featureSummaryPageCollection = new FeatureSummaryPageCollection(scenarioSummaryPageCollection, new FeatureRegistry());
+        featureSummaryPageRenderer.renderContent(featureSummaryPageCollection, template, new StringWriter());
     }
 }
@@ -8,6 +8,7 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.io.IOException;
+import java.io.StringWriter;
 import java.io.Writer;
 
 import static org.hamcrest.core.Is.is;
@@ -26,28 +27,31 @@ public class PageRendererTest {
     }
 
     @Test
-    public void processedContentTest() throws CluecumberPluginException {
+    public void processContentTest() throws CluecumberPluginException {
         Template template = mock(Template.class);
         PageCollection pageCollection = mock(PageCollection.class);
-        String processedContent = pageRenderer.processedContent(template, pageCollection);
-        assertThat(processedContent, is(""));
+        Writer writer = new StringWriter();
+        pageRenderer.processContent(template, pageCollection, writer);
+        assertThat(writer.toString(), is(""));
     }
 
     @Test(expected = CluecumberPluginException.class)
-    public void processedContentTemplateExceptionTest() throws Exception {
+    public void processContentTemplateExceptionTest() throws Exception {
         Template template = mock(Template.class);
         doThrow(new TemplateException("Test", null)).when(template).process(any(PageCollection.class), any(Writer.class));
         PageCollection pageCollection = mock(PageCollection.class);
-        String processedContent = pageRenderer.processedContent(template, pageCollection);
-        assertThat(processedContent, is(""));
+        Writer writer = new StringWriter();
+        pageRenderer.processContent(template, pageCollection, writer);
+        assertThat(writer.toString(), is(""));
     }
 
     @Test(expected = CluecumberPluginException.class)
-    public void processedContentIoExceptionTest() throws Exception {
+    public void processContentIoExceptionTest() throws Exception {
         Template template = mock(Template.class);
         doThrow(new IOException("Test", null)).when(template).process(any(PageCollection.class), any(Writer.class));
         PageCollection pageCollection = mock(PageCollection.class);
-        String processedContent = pageRenderer.processedContent(template, pageCollection);
-        assertThat(processedContent, is(""));
+        Writer writer = new StringWriter();
+        pageRenderer.processContent(template, pageCollection, writer);
+        assertThat(writer.toString(), is(""));
     }
 }
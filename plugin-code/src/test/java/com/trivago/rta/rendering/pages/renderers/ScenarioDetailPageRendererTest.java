@@ -8,6 +8,7 @@ import freemarker.template.Template;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -29,6 +30,6 @@ public class ScenarioDetailPageRendererTest {
         List<Step> steps = new ArrayList<>();
         element.setSteps(steps);
         DetailPageCollection detailPageCollection = new DetailPageCollection(element);
-        scenarioDetailPageRenderer.getRenderedContent(detailPageCollection, template);
+        scenarioDetailPageRenderer.renderContent(detailPageCollection, template, new StringWriter());
     }
 }
@@ -1,6 +1,8 @@
 package com.trivago.rta.rendering.pages.renderers;
 
 import com.trivago.rta.exceptions.CluecumberPluginException;
+import com.trivago.rta.json.pojo.Element;
+import com.trivago.rta.json.pojo.Report;
 import com.trivago.rta.json.pojo.Tag;
 import com.trivago.rta.properties.PropertyManager;
 import com.trivago.rta.rendering.pages.pojos.Feature;
@@ -9,6 +11,12 @@ import freemarker.template.Template;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.mock;
 
 public class ScenarioSummaryPageRendererTest {
@@ -25,7 +33,7 @@ public class ScenarioSummaryPageRendererTest {
     public void testContentRendering() throws CluecumberPluginException {
         Template template = mock(Template.class);
         ScenarioSummaryPageCollection scenarioSummaryPageCollection = new ScenarioSummaryPageCollection();
-        scenarioSummaryPageRenderer.getRenderedContent(scenarioSummaryPageCollection, template);
+        scenarioSummaryPageRenderer.renderContent(scenarioSummaryPageCollection, template, new StringWriter());
     }
 
     @Test
@@ -33,7 +41,8 @@ public class ScenarioSummaryPageRendererTest {
         Template template = mock(Template.class);
         ScenarioSummaryPageCollection scenarioSummaryPageCollection = new ScenarioSummaryPageCollection();
         Tag tag = new Tag();
-        scenarioSummaryPageRenderer.getRenderedContentByTagFilter(scenarioSummaryPageCollection, template, tag);
+        scenarioSummaryPageRenderer.renderFilteredContent(
+                scenarioSummaryPageCollection.getTagFilteredView(tag), template, new StringWriter());
     }
 
     @Test
@@ -41,6 +50,31 @@ public class ScenarioSummaryPageRendererTest {
         Template template = mock(Template.class);
         ScenarioSummaryPageCollection scenarioSummaryPageCollection = new ScenarioSummaryPageCollection();
         Feature feature = new Feature("feature", 0);
-        scenarioSummaryPageRenderer.getRenderedContentByFeatureFilter(scenarioSummaryPageCollection, template, feature);
+        scenarioSummaryPageRenderer.renderFilteredContent(
+                scenarioSummaryPageCollection.getFeatureFilteredView(feature), template, new StringWriter());
+    }
+
+    @Test
+    public void renderScenarioDataTest() throws CluecumberPluginException {
+        Element element = new Element();
+        element.setName("<Scenario>");
+        element.setScenarioIndex(3);
+        List<Element> elements = new ArrayList<>();
+        elements.add(element);
+        Report report = new Report();
+        report.setName("Feature");
+        report.setUri("feature.feature");
+        report.setFeatureIndex(2);
+        report.setElements(elements);
+        ScenarioSummaryPageCollection scenarioSummaryPageCollection = new ScenarioSummaryPageCollection();
+        scenarioSummaryPageCollection.addReports(new Report[]{report});
+
+        StringWriter stringWriter = new StringWriter();
+        scenarioSummaryPageRenderer.renderScenarioData(scenarioSummaryPageCollection, stringWriter);
+        assertThat(stringWriter.toString(), is("var scenarioData = {" +
+                "\"features\":[[\"Feature\",\"feature.feature\",2]]," +
+                "\"failed\":[]," +
+                "\"skipped\":[[0,\"\\u003cScenario\\u003e\",3,0,\"0m 00s 000ms\"]]," +
+                "\"passed\":[]};\n"));
     }
 }
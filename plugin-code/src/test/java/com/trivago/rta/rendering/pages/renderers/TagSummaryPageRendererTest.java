@@ -3,12 +3,12 @@ package com.trivago.rta.rendering.pages.renderers;
 import com.trivago.rta.exceptions.CluecumberPluginException;
 import com.trivago.rta.json.pojo.Report;
 import com.trivago.rta.rendering.pages.pojos.pagecollections.TagSummaryPageCollection;
+import com.trivago.rta.rendering.pages.pojos.pagecollections.ScenarioSummaryPageCollection;
 import freemarker.template.Template;
 import org.junit.Before;
 import org.junit.Test;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.io.StringWriter;
 
 import static org.mockito.Mockito.mock;
 
@@ -24,10 +24,9 @@ public class TagSummaryPageRendererTest {
     @Test
     public void testContentRendering() throws CluecumberPluginException {
         Template template = mock(Template.class);
-        Report report = new Report();
-        List<Report> reports = new ArrayList<>();
-        reports.add(report);
-        TagSummaryPageCollection tagSummaryPageCollection = new TagSummaryPageCollection(reports);
-        tagSummaryPageRenderer.getRenderedContent(tagSummaryPageCollection, template);
+        ScenarioSummaryPageCollection scenarioSummaryPageCollection = new ScenarioSummaryPageCollection();
+        scenarioSummaryPageCollection.addReports(new Report[]{new Report()});
+        TagSummaryPageCollection tagSummaryPageCollection = new TagSummaryPageCollection(scenarioSummaryPageCollection);
+        tagSummaryPageRenderer.renderContent(tagSummaryPageCollection, template, new StringWriter());
     }
 }